@@ -1,16 +1,63 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import asia.fourtitude.interviewq.jumble.core.Dictionary;
+import asia.fourtitude.interviewq.jumble.core.DictionaryRegistry;
+import asia.fourtitude.interviewq.jumble.core.DictionaryWatcher;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.PuzzlePool;
+import asia.fourtitude.interviewq.jumble.core.SubWordCache;
 
 @Configuration
+@EnableConfigurationProperties(JumbleProperties.class)
 public class AppConfig {
 
     @Bean
-    public JumbleEngine jumbleEngine() {
-        return new JumbleEngine();
+    public Dictionary dictionary(@Value("${jumble.dictionary.off-heap:false}") boolean offHeap) {
+        return offHeap ? Dictionary.fromClassPath(Dictionary.DEFAULT_FILE_NAME, true) : Dictionary.getDefault();
+    }
+
+    /*
+     * Only when an external word list is configured; closed (stops
+     * watching) on shutdown.
+     */
+    @Bean
+    @ConditionalOnProperty("jumble.dictionary.file")
+    public DictionaryWatcher dictionaryWatcher(@Value("${jumble.dictionary.file}") String file,
+            Dictionary dictionary) throws IOException {
+        return DictionaryWatcher.start(Paths.get(file), dictionary);
+    }
+
+    @Bean
+    public JumbleEngine jumbleEngine(Dictionary dictionary, ObjectProvider<DictionaryWatcher> dictionaryWatcher,
+            JumbleProperties properties) {
+        DictionaryWatcher watcher = dictionaryWatcher.getIfAvailable();
+        int capacity = properties.getSubWordCacheCapacity();
+        SubWordCache cache = capacity > 0 ? new SubWordCache(capacity) : null;
+        return new JumbleEngine(watcher != null ? watcher : () -> dictionary, cache);
+    }
+
+    @Bean
+    public DictionaryRegistry dictionaryRegistry(JumbleEngine jumbleEngine, JumbleProperties properties) {
+        return new DictionaryRegistry(jumbleEngine, properties.getDictionaries(),
+                properties.getSubWordCacheCapacity());
+    }
+
+    /*
+     * Closed (stops its producer) on shutdown.
+     */
+    @Bean
+    public PuzzlePool puzzlePool(JumbleProperties properties) {
+        return PuzzlePool.start(properties.getPool().getCapacity(), properties.getPool().getLowWater());
     }
 
 }
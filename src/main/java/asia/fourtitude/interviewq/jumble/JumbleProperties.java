@@ -0,0 +1,80 @@
+package asia.fourtitude.interviewq.jumble;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings under "jumble." in application.properties.
+ */
+@ConfigurationProperties(prefix = "jumble")
+public class JumbleProperties {
+
+    /*
+     * Additional word lists by dictionary name, e.g.
+     * jumble.dictionaries.kids=classpath:kids.txt
+     */
+    private Map<String, String> dictionaries = new LinkedHashMap<>();
+
+    /*
+     * The sub-word results cached per dictionary, by letters; 0 for no cache.
+     */
+    private int subWordCacheCapacity = 10_000;
+
+    private final Pool pool = new Pool();
+
+    public Map<String, String> getDictionaries() {
+        return dictionaries;
+    }
+
+    public void setDictionaries(Map<String, String> dictionaries) {
+        this.dictionaries = dictionaries;
+    }
+
+    public int getSubWordCacheCapacity() {
+        return subWordCacheCapacity;
+    }
+
+    public void setSubWordCacheCapacity(int subWordCacheCapacity) {
+        this.subWordCacheCapacity = subWordCacheCapacity;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    /**
+     * Settings of the pool of ready games, under "jumble.pool.".
+     */
+    public static class Pool {
+
+        /*
+         * The most games kept ready per dictionary and word length.
+         */
+        private int capacity = 32;
+
+        /*
+         * Refill once fewer games than this are ready.
+         */
+        private int lowWater = 8;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getLowWater() {
+            return lowWater;
+        }
+
+        public void setLowWater(int lowWater) {
+            this.lowWater = lowWater;
+        }
+
+    }
+
+}
@@ -2,9 +2,11 @@ package asia.fourtitude.interviewq.jumble.console;
 
 import java.io.PrintStream;
 import java.util.Collection;
+import java.util.List;
 import java.util.Scanner;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.RackWord;
 
 public class ConsoleApp extends AConsole {
 
@@ -88,6 +90,30 @@ public class ConsoleApp extends AConsole {
         }
     }
 
+    private void wordsMatchingPattern() {
+        cout.println();
+        cout.println("Word Matching Pattern");
+        cout.println("---------------------");
+        cout.print("Enter pattern (? any letter, * any letters): ");
+        String pattern = cin.nextLine().trim();
+
+        Collection<String> words = engine.wordsMatchingPattern(pattern, Integer.MAX_VALUE);
+        if (words.isEmpty()) {
+            cout.printf("No words matching pattern=[%s] can be found%n", pattern);
+        } else {
+            if (words.size() == 1) {
+                cout.printf("There is only 1 word matching pattern=[%s]%n", pattern);
+            } else {
+                cout.printf("There are %d words matching pattern=[%s]%n", words.size(), pattern);
+            }
+            int pos = 0;
+            for (String word : words) {
+                pos += 1;
+                cout.printf("%3d. %s%n", pos, word);
+            }
+        }
+    }
+
     private void searchWords() {
         Character startChar = null;
         Character endChar = null;
@@ -175,6 +201,26 @@ public class ConsoleApp extends AConsole {
         }
     }
 
+    private void solveRack() {
+        cout.println();
+        cout.println("Solve Scrabble Rack");
+        cout.println("-------------------");
+        cout.print("Enter tiles (? for blank): ");
+        String rack = cin.nextLine().trim();
+
+        List<RackWord> words = engine.solveRack(rack, 10);
+        if (words.isEmpty()) {
+            cout.printf("No words can be played from rack=[%s]%n", rack);
+        } else {
+            cout.printf("Best %d words played from rack=[%s]%n", words.size(), rack);
+            int pos = 0;
+            for (RackWord word : words) {
+                pos += 1;
+                cout.printf("%3d. %-15s %3d%n", pos, word.getWord(), word.getScore());
+            }
+        }
+    }
+
     public void run() {
         boolean exit = false;
         boolean finish = false;
@@ -187,6 +233,8 @@ public class ConsoleApp extends AConsole {
             cout.println("   4. words matching prefix");
             cout.println("   5. search words");
             cout.println("   6. generate sub words");
+            cout.println("   7. words matching pattern");
+            cout.println("   8. solve scrabble rack");
             cout.println("  11. play game");
             cout.println("   q: quit");
 
@@ -210,6 +258,12 @@ public class ConsoleApp extends AConsole {
             case "6":
                 generateSubWords();
                 break;
+            case "7":
+                wordsMatchingPattern();
+                break;
+            case "8":
+                solveRack();
+                break;
             case "11":
                 exit = new GuessWord(cin, cout, engine).exec();
                 break;
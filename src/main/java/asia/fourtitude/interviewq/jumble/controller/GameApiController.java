@@ -1,6 +1,8 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,13 +18,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import asia.fourtitude.interviewq.jumble.core.DictionaryRegistry;
+import asia.fourtitude.interviewq.jumble.core.GameIndex;
 import asia.fourtitude.interviewq.jumble.core.GameState;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.PuzzlePool;
 import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
 import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
 import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
+import asia.fourtitude.interviewq.jumble.model.PuzzlePoolOutput;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -39,7 +46,17 @@ public class GameApiController {
 
     private static final Logger LOG = LoggerFactory.getLogger(GameApiController.class);
 
-    private final JumbleEngine jumbleEngine;
+    /*
+     * "Did you mean" for incorrect guesses: remaining words at most this
+     * many letters off, and at most this many of them.
+     */
+    private static final int SUGGESTION_DISTANCE = 2;
+
+    private static final int SUGGESTION_LIMIT = 5;
+
+    private final DictionaryRegistry dictionaryRegistry;
+
+    private final PuzzlePool puzzlePool;
 
     /*
      * In-memory database/repository for all the game boards/states.
@@ -47,14 +64,16 @@ public class GameApiController {
     private final Map<String, GameGuessModel> gameBoards;
 
     @Autowired(required = true)
-    public GameApiController(JumbleEngine jumbleEngine) {
-        this.jumbleEngine = jumbleEngine;
+    public GameApiController(DictionaryRegistry dictionaryRegistry, PuzzlePool puzzlePool) {
+        this.dictionaryRegistry = dictionaryRegistry;
+        this.puzzlePool = puzzlePool;
         this.gameBoards = new ConcurrentHashMap<>();
     }
 
     @Operation(
             summary = "Creates new game board/state",
-            description = "Creates a new game board/state and registered into game engine referenced by `id`. All subsequent operation/play is tied to `id`.")
+            description = "Creates a new game board/state and registered into game engine referenced by `id`. All subsequent operation/play is tied to `id`. "
+                    + "With `min_difficulty` and/or `max_difficulty`, the word is picked among those of that range of difficulty levels.")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -74,17 +93,73 @@ public class GameApiController {
                                                             "  \"scramble_word\": \"nisatt\",\n" +
                                                             "  \"total_words\": 29,\n" +
                                                             "  \"remaining_words\": 29,\n" +
-                                                            "  \"guessed_words\": []\n" +
+                                                            "  \"guessed_words\": [],\n" +
+                                                            "  \"difficulty\": 2\n" +
+                                                    "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid difficulty",
+                                                    description = "The difficulty levels are not within 1 to 5, or `min_difficulty` is above `max_difficulty`.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Invalid difficulty.\"\n" +
+                                                    "}") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with the name `dictionary`.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Dictionary not found.\"\n" +
                                                     "}") })) })
     @GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<GameGuessOutput> newGame() {
+    public ResponseEntity<GameGuessOutput> newGame(
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary,
+            @Parameter(
+                    description = "The lowest difficulty level, 1 (easiest) to 5 (hardest). Default 1 if `max_difficulty` is given.",
+                    example = "1")
+            @RequestParam(name = "min_difficulty", required = false) Integer minDifficulty,
+            @Parameter(
+                    description = "The highest difficulty level, 1 (easiest) to 5 (hardest). Default 5 if `min_difficulty` is given.",
+                    example = "3")
+            @RequestParam(name = "max_difficulty", required = false) Integer maxDifficulty) {
         /*
          * Refer to the method's Javadoc (above) and implement accordingly.
          * Must pass the corresponding unit tests.
          */
         GameGuessOutput output = new GameGuessOutput();
 
-        GameState gameState = this.jumbleEngine.createGameState(6, 3);
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            output.setResult("Dictionary not found.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        }
+
+        GameState gameState;
+        if (minDifficulty == null && maxDifficulty == null) {
+            gameState = puzzlePool.take(jumbleEngine, 6, 3);
+        } else {
+            int min = minDifficulty != null ? minDifficulty : 1;
+            int max = maxDifficulty != null ? maxDifficulty : GameIndex.LEVELS;
+            if (min < 1 || max > GameIndex.LEVELS || min > max) {
+                output.setResult("Invalid difficulty.");
+                return new ResponseEntity<>(output, HttpStatus.BAD_REQUEST);
+            }
+            gameState = jumbleEngine.createGameState(6, 3, min, max);
+        }
 
         String uniqueId = UUID.randomUUID().toString();
 
@@ -114,6 +189,10 @@ public class GameApiController {
 
         output.setGuessedWords(gameState.getGuessedWords());
 
+        if (gameState.getDifficulty() > 0) {
+            output.setDifficulty(gameState.getDifficulty());
+        }
+
         return new ResponseEntity<>(output, HttpStatus.OK);
     }
 
@@ -174,10 +253,15 @@ public class GameApiController {
                                                             "  \"id\": \"88b4278c-5141-42af-86e6-2a1d4cfa5f3b\",\n" +
                                                             "  \"original_word\": \"ranker\",\n" +
                                                             "  \"scramble_word\": \"rnraek\",\n" +
-                                                            "  \"guess_word\": \"answer\",\n" +
+                                                            "  \"guess_word\": \"rnak\",\n" +
                                                             "  \"total_words\": 15,\n" +
                                                             "  \"remaining_words\": 15,\n" +
-                                                            "  \"guessed_words\": []\n" +
+                                                            "  \"guessed_words\": [],\n" +
+                                                            "  \"suggestions\": [\n" +
+                                                            "    \"nark\",\n" +
+                                                            "    \"ran\",\n" +
+                                                            "    \"rank\"\n" +
+                                                            "  ]\n" +
                                                     "}"),
                                             @ExampleObject(
                                                     name = "All Guessed",
@@ -281,6 +365,10 @@ public class GameApiController {
                 output.setResult("Guessed correctly.");
             } else {
                 output.setResult("Guessed incorrectly.");
+                List<String> suggestions = gameState.suggestions(word, SUGGESTION_DISTANCE, SUGGESTION_LIMIT);
+                if (!suggestions.isEmpty()) {
+                    output.setSuggestions(suggestions);
+                }
             }
         }
 
@@ -300,4 +388,61 @@ public class GameApiController {
 
         return new ResponseEntity<>(output, HttpStatus.OK);
     }
+
+    @Operation(
+            summary = "Statistics of the pool of ready games",
+            description = "Returns, for each dictionary and word length played, how many new games are ready, and how the pool kept up.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The pool statistics.",
+                                                    value = "[\n" +
+                                                            "  {\n" +
+                                                            "    \"dictionary\": \"default\",\n" +
+                                                            "    \"length\": 6,\n" +
+                                                            "    \"depth\": 29,\n" +
+                                                            "    \"capacity\": 32,\n" +
+                                                            "    \"produced\": 96,\n" +
+                                                            "    \"hits\": 67,\n" +
+                                                            "    \"misses\": 1,\n" +
+                                                            "    \"min_length\": 3,\n" +
+                                                            "    \"low_water\": 8,\n" +
+                                                            "    \"refills_per_second\": 5120.5\n" +
+                                                            "  }\n" +
+                                                    "]") })) })
+    @GetMapping(value = "/pool", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PuzzlePoolOutput>> poolStats() {
+        List<PuzzlePoolOutput> outputs = new ArrayList<>();
+        for (PuzzlePool.Stats stats : puzzlePool.getStats()) {
+            PuzzlePoolOutput output = new PuzzlePoolOutput();
+            output.setDictionary(dictionaryName(stats.getEngine()));
+            output.setLength(stats.getLength());
+            output.setMinLength(stats.getMinLength());
+            output.setDepth(stats.getDepth());
+            output.setCapacity(puzzlePool.getCapacity());
+            output.setLowWater(puzzlePool.getLowWater());
+            output.setProduced(stats.getProduced());
+            output.setHits(stats.getHits());
+            output.setMisses(stats.getMisses());
+            output.setRefillsPerSecond(stats.getRefillsPerSecond());
+            outputs.add(output);
+        }
+        return new ResponseEntity<>(outputs, HttpStatus.OK);
+    }
+
+    private String dictionaryName(JumbleEngine engine) {
+        for (String name : dictionaryRegistry.getNames()) {
+            if (dictionaryRegistry.getEngine(name) == engine) {
+                return name;
+            }
+        }
+        return null;
+    }
 }
@@ -21,6 +21,7 @@ import org.springframework.web.bind.support.SessionStatus;
 
 import asia.fourtitude.interviewq.jumble.core.GameState;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.PuzzlePool;
 import asia.fourtitude.interviewq.jumble.model.GameBoard;
 
 @Controller
@@ -32,9 +33,12 @@ public class GameWebController {
 
     private final JumbleEngine jumbleEngine;
 
+    private final PuzzlePool puzzlePool;
+
     @Autowired(required = true)
-    public GameWebController(JumbleEngine jumbleEngine) {
+    public GameWebController(JumbleEngine jumbleEngine, PuzzlePool puzzlePool) {
         this.jumbleEngine = jumbleEngine;
+        this.puzzlePool = puzzlePool;
     }
 
     @ModelAttribute("board")
@@ -71,7 +75,7 @@ public class GameWebController {
 
     @GetMapping("/new")
     public String doGetNew(@ModelAttribute(name = "board") GameBoard board) {
-        GameState state = this.jumbleEngine.createGameState(6, 3);
+        GameState state = this.puzzlePool.take(this.jumbleEngine, 6, 3);
 
         board.setWord(StringUtils.EMPTY);
         board.setState(state);
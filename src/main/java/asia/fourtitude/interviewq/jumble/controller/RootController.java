@@ -8,6 +8,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -15,8 +16,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
 import asia.fourtitude.interviewq.jumble.constant.ApplicationConstant;
+import asia.fourtitude.interviewq.jumble.core.DictionaryRegistry;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 import asia.fourtitude.interviewq.jumble.model.ExistsForm;
 import asia.fourtitude.interviewq.jumble.model.PrefixForm;
@@ -30,11 +34,33 @@ public class RootController {
 
     private static final Logger LOG = LoggerFactory.getLogger(RootController.class);
 
-    private final JumbleEngine jumbleEngine;
+    /*
+     * "Did you mean" for words that do not exist: words at most this many
+     * letters off, and at most this many of them.
+     */
+    private static final int SUGGESTION_DISTANCE = 2;
+
+    private static final int SUGGESTION_LIMIT = 5;
+
+    private final DictionaryRegistry dictionaryRegistry;
 
     @Autowired(required = true)
-    public RootController(JumbleEngine jumbleEngine) {
-        this.jumbleEngine = jumbleEngine;
+    public RootController(DictionaryRegistry dictionaryRegistry) {
+        this.dictionaryRegistry = dictionaryRegistry;
+    }
+
+    /*
+     * The engine of the `dictionary` request parameter; the default one if
+     * the parameter is missing. Unknown names are a 404, as in the API.
+     */
+    private JumbleEngine engine(String dictionary) {
+        JumbleEngine jumbleEngine = dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            // as given by the client: word characters only, and not all of them
+            LOG.debug("Unknown dictionary=[{}]", StringUtils.left(dictionary.replaceAll("\\W", "_"), 40));
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown dictionary");
+        }
+        return jumbleEngine;
     }
 
     @GetMapping
@@ -57,13 +83,14 @@ public class RootController {
         if(bindingResult.hasErrors())
             return ApplicationConstant.JUMBLE_SCRAMBLE;
 
-        form.setScramble(jumbleEngine.scramble(form.getWord()));    
+        form.setScramble(dictionaryRegistry.getDefaultEngine().scramble(form.getWord()));    
         return ApplicationConstant.JUMBLE_SCRAMBLE;
     }
 
     @GetMapping(ApplicationConstant.JUMBLE_PALINDROME)
-    public String doGetPalindrome(Model model) {
-        model.addAttribute("words", this.jumbleEngine.retrievePalindromeWords());
+    public String doGetPalindrome(Model model,
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        model.addAttribute("words", engine(dictionary).retrievePalindromeWords());
         return ApplicationConstant.JUMBLE_PALINDROME;
     }
 
@@ -76,7 +103,8 @@ public class RootController {
     @PostMapping(ApplicationConstant.JUMBLE_EXISTS)
     public String doPostExists(@Valid
             @ModelAttribute(name = "form") ExistsForm form,
-            BindingResult bindingResult, Model model) {
+            BindingResult bindingResult, Model model,
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
 
         if(bindingResult.hasErrors())
             return ApplicationConstant.JUMBLE_EXISTS;
@@ -87,7 +115,11 @@ public class RootController {
             return ApplicationConstant.JUMBLE_EXISTS;
         }
 
+        JumbleEngine jumbleEngine = engine(dictionary);
         form.setExists(jumbleEngine.exists(trimWord));
+        if (!form.getExists()) {
+            form.setSuggestions(jumbleEngine.suggest(trimWord, SUGGESTION_DISTANCE, SUGGESTION_LIMIT));
+        }
         return ApplicationConstant.JUMBLE_EXISTS;
     }
 
@@ -100,7 +132,8 @@ public class RootController {
     @PostMapping(ApplicationConstant.JUMBLE_PREFIX)
     public String doPostPrefix(@Valid
             @ModelAttribute(name = "form") PrefixForm form,
-            BindingResult bindingResult, Model model) {
+            BindingResult bindingResult, Model model,
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
 
         if(bindingResult.hasErrors())
             return ApplicationConstant.JUMBLE_PREFIX;
@@ -111,7 +144,7 @@ public class RootController {
             return ApplicationConstant.JUMBLE_PREFIX;
         }
 
-        form.setWords(jumbleEngine.wordsMatchingPrefix(trimPrefix));
+        form.setWords(engine(dictionary).wordsMatchingPrefix(trimPrefix));
         return ApplicationConstant.JUMBLE_PREFIX;
     }
 
@@ -124,7 +157,8 @@ public class RootController {
     @PostMapping(ApplicationConstant.JUMBLE_SEARCH)
     public String doPostSearch(@Valid
             @ModelAttribute(name = "form") SearchForm form,
-            BindingResult bindingResult, Model model) {
+            BindingResult bindingResult, Model model,
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
         
         if(bindingResult.hasErrors())
             return ApplicationConstant.JUMBLE_SEARCH;
@@ -141,7 +175,7 @@ public class RootController {
             return ApplicationConstant.JUMBLE_SEARCH;
         }
         
-        form.setWords(jumbleEngine.searchWords(startChar, endChar,
+        form.setWords(engine(dictionary).searchWords(startChar, endChar,
                 form.getLength()));
         return ApplicationConstant.JUMBLE_SEARCH;
     }
@@ -155,7 +189,8 @@ public class RootController {
     @PostMapping(ApplicationConstant.JUMBLE_SUBWORDS)
     public String doPostSubWords(@Valid
             @ModelAttribute(name = "form") SubWordsForm form,
-            BindingResult bindingResult, Model model) {
+            BindingResult bindingResult, Model model,
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
 
         if(bindingResult.hasErrors())
             return ApplicationConstant.JUMBLE_SUBWORDS;
@@ -166,7 +201,7 @@ public class RootController {
               return ApplicationConstant.JUMBLE_SUBWORDS;
         }
 
-        form.setWords(jumbleEngine.generateSubWords(trimWord, form.getMinLength()));
+        form.setWords(engine(dictionary).generateSubWords(trimWord, form.getMinLength()));
         return ApplicationConstant.JUMBLE_SUBWORDS;
     }
 
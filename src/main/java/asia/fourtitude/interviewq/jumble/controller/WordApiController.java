@@ -1,23 +1,38 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import asia.fourtitude.interviewq.jumble.core.DictionaryRegistry;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.RackWord;
+import asia.fourtitude.interviewq.jumble.core.WordPage;
+import asia.fourtitude.interviewq.jumble.model.RackWordOutput;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -31,27 +46,56 @@ public class WordApiController {
 
     private static final Logger LOG = LoggerFactory.getLogger(WordApiController.class);
 
-    private final JumbleEngine jumbleEngine;
+    private static final int MAX_SUGGEST_LETTERS = 45;
+
+    private static final int MAX_SUGGEST_DISTANCE = 2;
+
+    private static final int MAX_SUGGEST_LIMIT = 100;
+
+    private static final int MAX_PATTERN_LIMIT = 1000;
+
+    private static final int MAX_GROUPS_LIMIT = 1000;
+
+    private static final int MAX_PHRASE_LETTERS = 30;
+
+    private static final int MAX_PHRASE_WORDS = 5;
+
+    private static final int MAX_PHRASES_LIMIT = 1000;
+
+    private static final int MAX_RACK_LIMIT = 100;
+
+    private static final int MAX_PAGE_LIMIT = 1000;
+
+    private static final int DEFAULT_PAGE_LIMIT = 100;
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String FORMAT_NDJSON = "ndjson";
+
+    private final DictionaryRegistry dictionaryRegistry;
 
     @Autowired(required = true)
-    public WordApiController(JumbleEngine jumbleEngine) {
-        this.jumbleEngine = jumbleEngine;
+    public WordApiController(DictionaryRegistry dictionaryRegistry) {
+        this.dictionaryRegistry = dictionaryRegistry;
     }
 
     @Operation(
             summary = "Auto complete based on prefix",
-            description = "Returns a list of words matching the input `prefix` (of at least 3 letters).")
+            description = "Returns a list of words matching the input `prefix` (of at least 3 letters). Given `limit` or `cursor`, returns one page of them, and the `cursor` of the next page in the `" + NEXT_CURSOR_HEADER + "` header.")
     @ApiResponses(
             value = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Success",
+                            headers = @Header(
+                                    name = NEXT_CURSOR_HEADER,
+                                    description = "The `cursor` to get the next page with; absent on the last page."),
                             content = @Content(
                                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                                     examples = {
                                             @ExampleObject(
                                                     name = "Success",
-                                                    description = "The list of words matching the `prefix`.",
+                                                    description = "The list of words matching the `prefix`, or one page of it.",
                                                     value = "[\n" +
                                                             "  \"awe\",\n" +
                                                             "  \"awed\",\n" +
@@ -60,20 +104,733 @@ public class WordApiController {
                                                             "  \"awesomely\",\n" +
                                                             "  \"awesomeness\",\n" +
                                                             "  \"awestruck\"\n" +
-                                                            "]") })) })
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid `limit` or `cursor`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`limit` is not 1 to 1000, or `cursor` is not letters only.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name.",
+                                                    value = "[]") })) })
     @GetMapping(value = "/{prefix}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Collection<String>> autoComplete(
             @Parameter(
                     description = "The prefix.",
                     required = true,
                     example = "awe")
-            @PathVariable String prefix) {
+            @PathVariable String prefix,
+            @Parameter(
+                    description = "The most words in the page, 1 to 1000. All the words, unpaged, if both `limit` and `cursor` are omitted.",
+                    example = "100")
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @Parameter(
+                    description = "The `" + NEXT_CURSOR_HEADER + "` header of the previous page; the first page if omitted.",
+                    example = "awed")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        if (!isPage(limit, cursor)) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
         prefix = StringUtils.trimToEmpty(prefix);
         if (prefix.length() < 3) {
             return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
         }
-        Collection<String> words = this.jumbleEngine.wordsMatchingPrefix(prefix);
+        if (limit == null && cursor == null) {
+            Collection<String> words = jumbleEngine.wordsMatchingPrefix(prefix);
+            return new ResponseEntity<>(words, HttpStatus.OK);
+        }
+        return page(jumbleEngine.wordsMatchingPrefix(prefix, cursor, limit == null ? DEFAULT_PAGE_LIMIT : limit));
+    }
+
+    @Operation(
+            summary = "Auto complete based on prefix, streamed",
+            description = "Same as `/{prefix}`, but writes the words as newline delimited JSON while they are found, in constant memory however many they are. A `cursor`, e.g. the last word received, resumes an interrupted stream.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The words matching the `prefix`, one JSON string per line.",
+                                                    value = "\"awe\"\n" +
+                                                            "\"awed\"\n" +
+                                                            "\"awes\"\n") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid `cursor`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`cursor` is not letters only; no body.",
+                                                    value = "") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name; no body.",
+                                                    value = "") })) })
+    @GetMapping(value = "/{prefix}", params = "format=" + FORMAT_NDJSON, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> autoCompleteStream(
+            @Parameter(
+                    description = "The prefix.",
+                    required = true,
+                    example = "awe")
+            @PathVariable String prefix,
+            @Parameter(
+                    description = "`ndjson` to stream the words.",
+                    required = true,
+                    example = FORMAT_NDJSON)
+            @RequestParam(name = "format") String format,
+            @Parameter(
+                    description = "The word to start after; the first word if omitted.",
+                    example = "awed")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (!isPage(null, cursor)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        prefix = StringUtils.trimToEmpty(prefix);
+        if (prefix.length() < 3) {
+            return ndjson(Collections.emptyIterator());
+        }
+        return ndjson(jumbleEngine.iterateWordsMatchingPrefix(prefix, cursor));
+    }
+
+    @Operation(
+            summary = "Search words, paged",
+            description = "Returns one page of the words matching the search criteria, each optional: first letter, last letter and length; and the `cursor` of the next page in the `" + NEXT_CURSOR_HEADER + "` header.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            headers = @Header(
+                                    name = NEXT_CURSOR_HEADER,
+                                    description = "The `cursor` to get the next page with; absent on the last page."),
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The page of words matching the criteria.",
+                                                    value = "[\n" +
+                                                            "  \"aback\",\n" +
+                                                            "  \"amuck\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid `limit` or `cursor`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`limit` is not 1 to 1000, or `cursor` is not letters only.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name.",
+                                                    value = "[]") })) })
+    @GetMapping(value = "/search/words", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> search(
+            @Parameter(
+                    description = "The first letter, or any if omitted.",
+                    example = "a")
+            @RequestParam(name = "start_char", required = false) Character startChar,
+            @Parameter(
+                    description = "The last letter, or any if omitted.",
+                    example = "k")
+            @RequestParam(name = "end_char", required = false) Character endChar,
+            @Parameter(
+                    description = "The word length, or any if omitted.",
+                    example = "5")
+            @RequestParam(name = "length", required = false) Integer length,
+            @Parameter(
+                    description = "The most words in the page, 1 to 1000.",
+                    example = "100")
+            @RequestParam(name = "limit", required = false, defaultValue = "100") int limit,
+            @Parameter(
+                    description = "The `" + NEXT_CURSOR_HEADER + "` header of the previous page; the first page if omitted.",
+                    example = "aback")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        if (!isPage(limit, cursor)) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+        return page(jumbleEngine.searchWords(startChar, endChar, length, cursor, limit));
+    }
+
+    @Operation(
+            summary = "Search words, streamed",
+            description = "Same as `/search/words`, but writes all the matching words as newline delimited JSON while they are found, in constant memory however many they are. A `cursor`, e.g. the last word received, resumes an interrupted stream.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The words matching the criteria, one JSON string per line.",
+                                                    value = "\"aback\"\n" +
+                                                            "\"amuck\"\n") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid `cursor`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`cursor` is not letters only; no body.",
+                                                    value = "") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name; no body.",
+                                                    value = "") })) })
+    @GetMapping(value = "/search/words", params = "format=" + FORMAT_NDJSON, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> searchStream(
+            @Parameter(
+                    description = "The first letter, or any if omitted.",
+                    example = "a")
+            @RequestParam(name = "start_char", required = false) Character startChar,
+            @Parameter(
+                    description = "The last letter, or any if omitted.",
+                    example = "k")
+            @RequestParam(name = "end_char", required = false) Character endChar,
+            @Parameter(
+                    description = "The word length, or any if omitted.",
+                    example = "5")
+            @RequestParam(name = "length", required = false) Integer length,
+            @Parameter(
+                    description = "`ndjson` to stream the words.",
+                    required = true,
+                    example = FORMAT_NDJSON)
+            @RequestParam(name = "format") String format,
+            @Parameter(
+                    description = "The word to start after; the first word if omitted.",
+                    example = "aback")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (!isPage(null, cursor)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ndjson(jumbleEngine.iterateSearchWords(startChar, endChar, length, cursor));
+    }
+
+    @Operation(
+            summary = "Did you mean",
+            description = "Returns the words closest to the input `word` (at most 45 letters), e.g. a misspelling, within `distance` letters inserted, deleted or replaced; by distance, then alphabetically.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The words closest to `word`.",
+                                                    value = "[\n" +
+                                                            "  \"relieve\",\n" +
+                                                            "  \"believe\",\n" +
+                                                            "  \"recede\",\n" +
+                                                            "  \"receive\",\n" +
+                                                            "  \"recipe\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid `word`, `distance` or `limit`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`word` is over 45 letters, `distance` is not 1 to 2, or `limit` is not 1 to 100.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name.",
+                                                    value = "[]") })) })
+    @GetMapping(value = "/suggest/{word}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> suggest(
+            @Parameter(
+                    description = "The word, at most 45 letters.",
+                    required = true,
+                    example = "recieve")
+            @PathVariable String word,
+            @Parameter(
+                    description = "The most letters inserted, deleted or replaced, 1 to 2.",
+                    example = "2")
+            @RequestParam(name = "distance", required = false, defaultValue = "2") int distance,
+            @Parameter(
+                    description = "The most words to return, 1 to 100.",
+                    example = "5")
+            @RequestParam(name = "limit", required = false, defaultValue = "10") int limit,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        if (word.length() > MAX_SUGGEST_LETTERS || distance < 1 || distance > MAX_SUGGEST_DISTANCE || limit < 1
+                || limit > MAX_SUGGEST_LIMIT) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+        Collection<String> words = jumbleEngine.suggest(word, distance, limit);
         return new ResponseEntity<>(words, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Crossword pattern search",
+            description = "Returns the words matching the input `pattern`, where `?` (or `.`) is any one letter and `*` is any letters, none included; e.g. `a?p??e` or `un*able`. `?` must be sent URL encoded, as `%3F`.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The words matching `pattern`, sorted.",
+                                                    value = "[\n" +
+                                                            "  \"alpine\",\n" +
+                                                            "  \"ampere\",\n" +
+                                                            "  \"ampule\",\n" +
+                                                            "  \"aspire\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid `limit`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`limit` is not 1 to 1000.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name.",
+                                                    value = "[]") })) })
+    @GetMapping(value = "/pattern/{pattern}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> pattern(
+            @Parameter(
+                    description = "The pattern, letters and wildcards `?`, `.` and `*`.",
+                    required = true,
+                    example = "a.p..e")
+            @PathVariable String pattern,
+            @Parameter(
+                    description = "The most words to return, 1 to 1000.",
+                    example = "100")
+            @RequestParam(name = "limit", required = false, defaultValue = "100") int limit,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        if (limit < 1 || limit > MAX_PATTERN_LIMIT) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+        Collection<String> words = jumbleEngine.wordsMatchingPattern(pattern, limit);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Unscramble letters",
+            description = "Returns the words using exactly the input `letters`, each as many times, in any order.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The anagrams of `letters`, sorted.",
+                                                    value = "[\n" +
+                                                            "  \"least\",\n" +
+                                                            "  \"slate\",\n" +
+                                                            "  \"stale\",\n" +
+                                                            "  \"steal\",\n" +
+                                                            "  \"tales\",\n" +
+                                                            "  \"teals\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name.",
+                                                    value = "[]") })) })
+    @GetMapping(value = "/unscramble/{letters}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> unscramble(
+            @Parameter(
+                    description = "The letters, in any order.",
+                    required = true,
+                    example = "tslea")
+            @PathVariable String letters,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        Collection<String> words = jumbleEngine.unscramble(letters);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Anagram groups",
+            description = "Returns the groups of words of `length` that are anagrams of each other.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The groups, each sorted, ordered by their first word.",
+                                                    value = "[\n" +
+                                                            "  [\n" +
+                                                            "    \"abed\",\n" +
+                                                            "    \"bade\",\n" +
+                                                            "    \"bead\"\n" +
+                                                            "  ],\n" +
+                                                            "  [\n" +
+                                                            "    \"abet\",\n" +
+                                                            "    \"beat\",\n" +
+                                                            "    \"beta\"\n" +
+                                                            "  ]\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid `limit`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`limit` is not 1 to 1000.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name.",
+                                                    value = "[]") })) })
+    @GetMapping(value = "/anagram-groups/{length}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<List<String>>> anagramGroups(
+            @Parameter(
+                    description = "The word length.",
+                    required = true,
+                    example = "4")
+            @PathVariable int length,
+            @Parameter(
+                    description = "The most groups to return, 1 to 1000.",
+                    example = "100")
+            @RequestParam(name = "limit", required = false, defaultValue = "100") int limit,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        if (limit < 1 || limit > MAX_GROUPS_LIMIT) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+        List<List<String>> groups = jumbleEngine.anagramGroups(length, limit);
+        return new ResponseEntity<>(groups, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Multi-word anagrams",
+            description = "Returns the phrases whose words together use exactly the input `letters` (at most 30, spaces ignored), each as many times. A search stops after about a second, with only its first phrases.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The phrases, each longest word first.",
+                                                    value = "[\n" +
+                                                            "  [\n" +
+                                                            "    \"dormitory\"\n" +
+                                                            "  ],\n" +
+                                                            "  [\n" +
+                                                            "    \"dirty\",\n" +
+                                                            "    \"room\"\n" +
+                                                            "  ]\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid parameter",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`letters` has more than 30 letters, `min_length` is not positive, `max_words` is not 1 to 5, or `limit` is not 1 to 1000.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name.",
+                                                    value = "[]") })) })
+    @GetMapping(value = "/phrases/{letters}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<List<String>>> phrases(
+            @Parameter(
+                    description = "The letters, in any order.",
+                    required = true,
+                    example = "dormitory")
+            @PathVariable String letters,
+            @Parameter(
+                    description = "The minimum length of each word.",
+                    example = "3")
+            @RequestParam(name = "min_length", required = false, defaultValue = "3") int minLength,
+            @Parameter(
+                    description = "The most words in a phrase, 1 to 5.",
+                    example = "3")
+            @RequestParam(name = "max_words", required = false, defaultValue = "3") int maxWords,
+            @Parameter(
+                    description = "The most phrases to return, 1 to 1000.",
+                    example = "100")
+            @RequestParam(name = "limit", required = false, defaultValue = "100") int limit,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        if (StringUtils.deleteWhitespace(letters).length() > MAX_PHRASE_LETTERS || minLength < 1
+                || maxWords < 1 || maxWords > MAX_PHRASE_WORDS || limit < 1 || limit > MAX_PHRASES_LIMIT) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+        List<List<String>> phrases = jumbleEngine.anagramPhrases(letters, minLength, maxWords, limit);
+        return new ResponseEntity<>(phrases, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Scrabble rack solver",
+            description = "Returns the highest-scoring words playable from the input `rack` (at most 15 tiles), by tile values, each tile used at most once. A `?` (or `.`) tile is a blank, for any letter, scoring 0; `?` must be sent URL encoded, as `%3F`.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The best words, by score, then alphabetically.",
+                                                    value = "[\n" +
+                                                            "  {\n" +
+                                                            "    \"word\": \"quiz\",\n" +
+                                                            "    \"score\": 21\n" +
+                                                            "  },\n" +
+                                                            "  {\n" +
+                                                            "    \"word\": \"biz\",\n" +
+                                                            "    \"score\": 11\n" +
+                                                            "  }\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid `limit`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid parameter",
+                                                    description = "`limit` is not 1 to 100.",
+                                                    value = "[]") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Unknown `dictionary`",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Unknown dictionary",
+                                                    description = "No dictionary is configured with that name.",
+                                                    value = "[]") })) })
+    @GetMapping(value = "/rack/{rack}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<RackWordOutput>> rack(
+            @Parameter(
+                    description = "The tiles, letters and blanks `?` or `.`.",
+                    required = true,
+                    example = "qiz.")
+            @PathVariable String rack,
+            @Parameter(
+                    description = "The most words to return, 1 to 100.",
+                    example = "10")
+            @RequestParam(name = "limit", required = false, defaultValue = "10") int limit,
+            @Parameter(
+                    description = "The dictionary name. Default dictionary if omitted.",
+                    example = DictionaryRegistry.DEFAULT_NAME)
+            @RequestParam(name = "dictionary", required = false) String dictionary) {
+        JumbleEngine jumbleEngine = this.dictionaryRegistry.getEngine(dictionary);
+        if (jumbleEngine == null) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.NOT_FOUND);
+        }
+        if (limit < 1 || limit > MAX_RACK_LIMIT) {
+            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.BAD_REQUEST);
+        }
+        List<RackWordOutput> outputs = new ArrayList<>();
+        for (RackWord rackWord : jumbleEngine.solveRack(rack, limit)) {
+            RackWordOutput output = new RackWordOutput();
+            output.setWord(rackWord.getWord());
+            output.setScore(rackWord.getScore());
+            outputs.add(output);
+        }
+        return new ResponseEntity<>(outputs, HttpStatus.OK);
+    }
+
+    /*
+     * Whether `limit`, if given, is 1 to 1000, and `cursor`, if given, is
+     * letters only.
+     */
+    private static boolean isPage(Integer limit, String cursor) {
+        return (limit == null || (limit >= 1 && limit <= MAX_PAGE_LIMIT))
+                && (cursor == null || (StringUtils.isAlpha(cursor) && StringUtils.isAsciiPrintable(cursor)));
+    }
+
+    private static ResponseEntity<Collection<String>> page(WordPage page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return new ResponseEntity<>(page.getWords(), headers, HttpStatus.OK);
+    }
+
+    /*
+     * Writes each word as it is iterated; the response buffer is flushed
+     * as it fills, so nothing else is held.
+     */
+    private static ResponseEntity<StreamingResponseBody> ndjson(Iterator<String> words) {
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            while (words.hasNext()) {
+                // words are letters 'a' to 'z' only, nothing to escape
+                writer.write('"');
+                writer.write(words.next());
+                writer.write("\"\n");
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
 }
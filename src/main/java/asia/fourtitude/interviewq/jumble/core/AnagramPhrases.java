@@ -0,0 +1,342 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the phrases whose words together use exactly the given letters
+ * ("multi-word anagrams"), e.g. "dormitory" to "dirty room".
+ *
+ * The candidates are the words contained in the letters, ordered longest
+ * first. A phrase is a non-decreasing sequence of candidates, so each
+ * combination of words is found once. The search is a branch and bound
+ * over the letter counts still to be used:
+ * a) a candidate must fit the remaining letters;
+ * b) once the longest candidate left times the words left is shorter than
+ *    the remaining letters, no later candidate can do better;
+ * c) once the candidates left miss one of the remaining letters, neither
+ *    can any later ones.
+ * Remaining-letter states that turned out to have no phrase are
+ * remembered, by the first candidate and number of words they were tried
+ * with, and not searched again. The remaining letters are a sub-multiset
+ * of the input, so a state fits in a `long` as a mixed-radix number.
+ *
+ * Each choice of first word is one task on a {@link ForkJoinPool} of its
+ * own, of half the processors, so that searches hold up neither the
+ * common pool nor every processor. Results are merged back in candidate
+ * order, so they do not depend on scheduling. Once the first words done
+ * so far, in order, have `limit` phrases, the later ones could not add
+ * any, and stop.
+ *
+ * Long inputs with few phrases can still take minutes, so a search stops
+ * after {@link #MAX_STEPS} steps. It then returns only the phrases of the
+ * first words searched in full, in order: the start of the full result,
+ * however many that is.
+ */
+final class AnagramPhrases {
+
+    /*
+     * Inputs longer than this are rejected: states would not fit a `long`,
+     * and searches would not be interactive anyway.
+     */
+    static final int MAX_LETTERS = 30;
+
+    /*
+     * The most steps of one search: partial phrases extended, plus
+     * candidates looked at for them; about a second on one processor.
+     */
+    static final long MAX_STEPS = 100_000_000L;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    /*
+     * The letters to use: counts, state code and total.
+     */
+    private final int[] letters;
+
+    private final long start;
+
+    private final int length;
+
+    /*
+     * Per candidate, in search order: word ID, length, letter counts,
+     * letter mask and amount subtracted from the state code.
+     */
+    private final int[] ids;
+
+    private final int[] lengths;
+
+    private final int[][] counts;
+
+    private final int[] masks;
+
+    private final long[] codes;
+
+    /*
+     * Letters of candidates [i, size), as a mask.
+     */
+    private final int[] suffixMasks;
+
+    /*
+     * First candidate of at most `length` letters, by length.
+     */
+    private final int[] firstOfLength;
+
+    private final int maxWords;
+
+    private final int limit;
+
+    /*
+     * State and words left, to the first candidate from which it has no
+     * phrase.
+     */
+    private final ConcurrentHashMap<Long, Integer> deadFrom = new ConcurrentHashMap<>();
+
+    /*
+     * Per first word: 1 + phrases found, once done; 0 before. The first
+     * words [0, done) are all done, with `doneFound` phrases.
+     */
+    private final int[] firstFound;
+
+    private int done;
+
+    private volatile int doneFound;
+
+    private final long maxSteps;
+
+    private final AtomicLong steps = new AtomicLong();
+
+    /**
+     * @param words         The dictionary words.
+     * @param letters       Counts of the letters to use, at most
+     *                      {@link #MAX_LETTERS} in all.
+     * @param candidateIds  IDs of the words contained in `letters`.
+     * @param maxWords      The most words in a phrase.
+     * @param limit         The most phrases to find.
+     */
+    AnagramPhrases(WordStorage words, int[] letters, int[] candidateIds, int maxWords, int limit) {
+        this(words, letters, candidateIds, maxWords, limit, MAX_STEPS);
+    }
+
+    /**
+     * @param maxSteps  The most steps, see {@link #MAX_STEPS}.
+     */
+    AnagramPhrases(WordStorage words, int[] letters, int[] candidateIds, int maxWords, int limit, long maxSteps) {
+        this.letters = letters;
+        this.maxWords = maxWords;
+        this.limit = limit;
+        this.maxSteps = maxSteps;
+
+        long[] radix = new long[LetterCounts.LETTERS];
+        long code = 0;
+        long unit = 1;
+        int total = 0;
+        for (int letter = 0; letter < LetterCounts.LETTERS; letter++) {
+            radix[letter] = unit;
+            code += letters[letter] * unit;
+            unit *= letters[letter] + 1;
+            total += letters[letter];
+        }
+        this.start = code;
+        this.length = total;
+
+        Integer[] order = new Integer[candidateIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = candidateIds[i];
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer id) -> -words.length(id)).thenComparingInt(id -> id));
+        int size = order.length;
+        this.ids = new int[size];
+        this.lengths = new int[size];
+        this.counts = new int[size][];
+        this.masks = new int[size];
+        this.codes = new long[size];
+        WordCursor cursor = words.cursor();
+        for (int i = 0; i < size; i++) {
+            ids[i] = order[i];
+            CharSequence word = cursor.moveTo(ids[i]);
+            lengths[i] = word.length();
+            counts[i] = LetterCounts.count(word);
+            for (int letter = 0; letter < LetterCounts.LETTERS; letter++) {
+                if (counts[i][letter] > 0) {
+                    masks[i] |= 1 << letter;
+                    codes[i] += counts[i][letter] * radix[letter];
+                }
+            }
+        }
+        this.firstFound = new int[size];
+        this.suffixMasks = new int[size + 1];
+        for (int i = size - 1; i >= 0; i--) {
+            suffixMasks[i] = suffixMasks[i + 1] | masks[i];
+        }
+        this.firstOfLength = new int[total + 1];
+        for (int len = total, i = 0; len >= 0; len--) {
+            while (i < size && lengths[i] > len) {
+                i++;
+            }
+            firstOfLength[len] = i;
+        }
+    }
+
+    /**
+     * @return  Word IDs of each phrase, longest word first; phrases in
+     *          the order of their words' lengths, then IDs. If stopped at
+     *          {@link #MAX_STEPS}, only the first of them.
+     */
+    List<int[]> search() {
+        if (length == 0 || ids.length == 0 || maxWords <= 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<int[]> phrases = POOL.invoke(new FirstWordTask(0, ids.length));
+        if (steps.get() > maxSteps && phrases.size() > doneFound) {
+            // the later phrases are of first words cut short
+            return new ArrayList<>(phrases.subList(0, doneFound));
+        }
+        return phrases;
+    }
+
+    /*
+     * Phrases starting with candidate `first`, appended to `out`.
+     */
+    private void searchFrom(int first, List<int[]> out) {
+        int[] remaining = letters.clone();
+        int[] path = new int[maxWords];
+        tryWord(first, remaining, start, length, path, 0, out);
+        if (steps.get() <= maxSteps) {
+            // else maybe cut short, so not done
+            done(first, out.size());
+        }
+    }
+
+    private synchronized void done(int first, int found) {
+        firstFound[first] = found + 1;
+        int count = doneFound;
+        while (done < firstFound.length && firstFound[done] > 0) {
+            count += firstFound[done++] - 1;
+        }
+        doneFound = count;
+    }
+
+    /*
+     * Whether no more phrases are needed, or no more can be searched for.
+     */
+    private boolean enough(List<int[]> out) {
+        return out.size() >= limit || doneFound >= limit || steps.get() > maxSteps;
+    }
+
+    /*
+     * Uses candidate `i` as word number `used` of the phrase, if it fits.
+     *
+     * @return  Whether any phrase was found.
+     */
+    private boolean tryWord(int i, int[] remaining, long code, int left, int[] path, int used, List<int[]> out) {
+        int[] wordCounts = counts[i];
+        for (int letter = 0; letter < LetterCounts.LETTERS; letter++) {
+            if (wordCounts[letter] > remaining[letter]) {
+                return false;
+            }
+        }
+        for (int letter = 0; letter < LetterCounts.LETTERS; letter++) {
+            remaining[letter] -= wordCounts[letter];
+        }
+        path[used] = i;
+        boolean found = search(i, remaining, code - codes[i], left - lengths[i], path, used + 1, out);
+        for (int letter = 0; letter < LetterCounts.LETTERS; letter++) {
+            remaining[letter] += wordCounts[letter];
+        }
+        return found;
+    }
+
+    /*
+     * Completes the phrase path[0, used) with candidates `from` on.
+     *
+     * @return  Whether any phrase was found.
+     */
+    private boolean search(int from, int[] remaining, long code, int left, int[] path, int used, List<int[]> out) {
+        if (left == 0) {
+            int[] phrase = new int[used];
+            for (int k = 0; k < used; k++) {
+                phrase[k] = ids[path[k]];
+            }
+            out.add(phrase);
+            return true;
+        }
+        int wordsLeft = maxWords - used;
+        if (wordsLeft == 0 || enough(out)) {
+            return false;
+        }
+        Long key = code * (maxWords + 1) + wordsLeft;
+        Integer dead = deadFrom.get(key);
+        if (dead != null && dead <= from) {
+            return false;
+        }
+        int mask = 0;
+        for (int letter = 0; letter < LetterCounts.LETTERS; letter++) {
+            if (remaining[letter] > 0) {
+                mask |= 1 << letter;
+            }
+        }
+        boolean found = false;
+        int first = Math.max(from, firstOfLength[left]);
+        int i = first;
+        for (; i < ids.length && !enough(out); i++) {
+            if ((long) lengths[i] * wordsLeft < left || (suffixMasks[i] & mask) != mask) {
+                break;
+            }
+            if ((masks[i] & ~mask) == 0) {
+                found |= tryWord(i, remaining, code, left, path, used, out);
+            }
+        }
+        steps.addAndGet(i - first + 1);
+        if (!found && !enough(out)) {
+            deadFrom.merge(key, from, Math::min);
+        }
+        return found;
+    }
+
+    /*
+     * The phrases of first candidates [from, to), in order, at most
+     * `limit`.
+     */
+    private final class FirstWordTask extends RecursiveTask<List<int[]>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        FirstWordTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<int[]> compute() {
+            if (to - from == 1) {
+                List<int[]> out = new ArrayList<>();
+                searchFrom(from, out);
+                return out;
+            }
+            int mid = (from + to) >>> 1;
+            // the earlier first words first, for the later ones to stop sooner
+            FirstWordTask right = new FirstWordTask(mid, to);
+            right.fork();
+            List<int[]> phrases = new FirstWordTask(from, mid).compute();
+            List<int[]> rest = right.join();
+            for (int i = 0; i < rest.size() && phrases.size() < limit; i++) {
+                phrases.add(rest.get(i));
+            }
+            return phrases;
+        }
+
+    }
+
+}
@@ -0,0 +1,871 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Immutable in-memory snapshot of a word list.
+ *
+ * The word list is parsed exactly once: every line is trimmed and
+ * lower-cased, lines that are blank or contain anything other than the
+ * letters 'a' to 'z' are skipped, and the remaining words are sorted and
+ * de-duplicated. Each word is then identified by its position (ID) in that
+ * sorted order.
+ *
+ * The words never change after construction, and each index is built on
+ * first use, exactly once, so one snapshot can be shared by any number of
+ * threads and {@link JumbleEngine}s.
+ */
+public final class Dictionary {
+
+    public static final String DEFAULT_FILE_NAME = "words.txt";
+
+    /*
+     * Sub words are found by enumeration while the number of letter
+     * sub-multisets is at most this percent of the dictionary size; beyond
+     * that, checking the words directly is cheaper.
+     */
+    private static final int ENUMERATION_RATIO = 5;
+
+    /*
+     * From this many words on, words are front coded rather than kept as
+     * one String each; lookups then binary search the compressed blocks
+     * instead of using the hash set and trie.
+     */
+    static final int FRONT_CODING_MIN_SIZE = 500_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(Dictionary.class);
+
+    private final WordStorage words;
+
+    private final List<String> wordList;
+
+    /*
+     * Indexes are built on first use, so a dictionary only pays for the
+     * operations it serves. The hash set and trie need the words as
+     * Strings, so front coded and off-heap dictionaries go without them
+     * (null).
+     */
+    private final Lazy<WordSet> wordSet;
+
+    private final Lazy<PrefixTrie> prefixTrie;
+
+    private final Lazy<LengthIndex> lengthIndex;
+
+    private final Lazy<SearchIndex> searchIndex;
+
+    private final Lazy<SignatureIndex> signatureIndex;
+
+    private final Lazy<LetterCounts> letterCounts;
+
+    private final Lazy<int[]> palindromeIds;
+
+    private final Lazy<List<String>> palindromes;
+
+    /*
+     * The sub words of every game original, by gameKey(length, minLength),
+     * for those precomputed; the only state added to after construction,
+     * and never needed to be consistent with anything but the (unchanging)
+     * words.
+     */
+    private final ConcurrentMap<Long, Lazy<GameIndex>> gameIndexes = new ConcurrentHashMap<>();
+
+    Dictionary(WordStorage words) {
+        this(words, new Lazy<>(() -> new LetterCounts(words)), new Lazy<>(() -> new LengthIndex(words)),
+                new Lazy<>(() -> palindromeIds(words)));
+    }
+
+    /*
+     * From parts already derived from the words, e.g. read from a
+     * DictionaryImage.
+     */
+    Dictionary(WordStorage words, LetterCounts letterCounts, LengthIndex lengthIndex, int[] palindromeIds) {
+        this(words, Lazy.of(letterCounts), Lazy.of(lengthIndex), Lazy.of(palindromeIds));
+    }
+
+    private Dictionary(WordStorage words, Lazy<LetterCounts> letterCounts, Lazy<LengthIndex> lengthIndex,
+            Lazy<int[]> palindromeIds) {
+        this.words = words;
+        this.wordList = words.subList(0, words.size());
+        if (words instanceof WordArray) {
+            String[] array = ((WordArray) words).array();
+            this.wordSet = new Lazy<>(() -> new WordSet(array));
+            this.prefixTrie = new Lazy<>(() -> new PrefixTrie(array));
+        } else {
+            this.wordSet = null;
+            this.prefixTrie = null;
+        }
+        this.lengthIndex = lengthIndex;
+        this.searchIndex = new Lazy<>(() -> new SearchIndex(words, lengthIndex.get()));
+        this.letterCounts = letterCounts;
+        this.signatureIndex = new Lazy<>(() -> new SignatureIndex(words, letterCounts.get()));
+        this.palindromeIds = palindromeIds;
+        this.palindromes = new Lazy<>(() -> new WordList(words, palindromeIds.get()));
+    }
+
+    /*
+     * Builds every index now, rather than on first use, in parallel on the
+     * common ForkJoinPool: first the indexes that others are built from,
+     * then those others.
+     */
+    Dictionary buildIndexes() {
+        Stream.of(letterCounts, lengthIndex, palindromeIds, wordSet, prefixTrie)
+                .filter(Objects::nonNull)
+                .parallel()
+                .forEach(Lazy::get);
+        Stream.of(searchIndex, signatureIndex, palindromes)
+                .parallel()
+                .forEach(Lazy::get);
+        return this;
+    }
+
+    /**
+     * A copy of this dictionary with its words stored off the Java heap
+     * (see {@link OffHeapWords}), for the garbage collector not to trace
+     * them. Lookups are then binary searches, and every word read creates
+     * a short-lived `String`.
+     *
+     * @return  The off-heap dictionary; this one if already off heap.
+     */
+    public Dictionary offHeap() {
+        if (isOffHeap()) {
+            return this;
+        }
+        String[] array = new String[words.size()];
+        WordCursor cursor = words.cursor();
+        for (int id = 0; id < array.length; id++) {
+            array[id] = cursor.moveTo(id).toString();
+        }
+        return new Dictionary(new OffHeapWords(array), letterCounts.get(), lengthIndex.get(), palindromeIds.get());
+    }
+
+    public boolean isOffHeap() {
+        return words instanceof OffHeapWords;
+    }
+
+    /*
+     * Whether word(id) returns the stored String itself, for other
+     * dictionaries to share; front coded and off-heap words are decoded
+     * into a new String each time.
+     */
+    boolean sharesWords() {
+        return words instanceof WordArray;
+    }
+
+    /**
+     * @return  A new cursor, for one thread to scan the words with.
+     */
+    WordCursor cursor() {
+        return words.cursor();
+    }
+
+    private static int[] palindromeIds(WordStorage words) {
+        IdBuffer ids = new IdBuffer();
+        WordCursor cursor = words.cursor();
+        for (int id = 0; id < words.size(); id++) {
+            if (isPalindrome(cursor.moveTo(id))) {
+                ids.add(id);
+            }
+        }
+        return ids.toArray();
+    }
+
+    /*
+     * Compares letters from both ends inwards, without allocating. Single
+     * letter words do not count.
+     */
+    private static boolean isPalindrome(CharSequence word) {
+        int i = 0;
+        int j = word.length() - 1;
+        if (j < 1) {
+            return false;
+        }
+        while (i < j) {
+            if (word.charAt(i++) != word.charAt(j--)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Lazy holder, so that the classpath word list is only read when the
+     * default dictionary is first used, and then only once per JVM.
+     */
+    private static final class DefaultHolder {
+        static final Dictionary INSTANCE = fromClassPath(DEFAULT_FILE_NAME);
+    }
+
+    /**
+     * The shared dictionary loaded from classpath "words.txt".
+     *
+     * @return  The default dictionary.
+     */
+    public static Dictionary getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Loads a dictionary from classpath resource.
+     *
+     * If the build compiled a {@link DictionaryImage} of the resource, and
+     * its checksum matches the resource, the dictionary is read from the
+     * image; otherwise the resource is parsed.
+     * If the resource cannot be read, the error is logged and an empty
+     * dictionary is returned.
+     *
+     * @param fileName  The classpath resource name.
+     * @return  The loaded dictionary.
+     */
+    public static Dictionary fromClassPath(String fileName) {
+        return fromClassPath(fileName, false);
+    }
+
+    /**
+     * Loads a dictionary from classpath resource, like
+     * {@link #fromClassPath(String)}; with `offHeap`, its words are stored
+     * off the Java heap, and a memory-mapped image is used in place.
+     *
+     * @param fileName  The classpath resource name.
+     * @param offHeap   Whether to store the words off heap.
+     * @return  The loaded dictionary.
+     */
+    public static Dictionary fromClassPath(String fileName, boolean offHeap) {
+        byte[] text;
+        try (InputStream inputStream = new ClassPathResource(fileName).getInputStream()) {
+            text = StreamUtils.copyToByteArray(inputStream);
+        } catch (IOException e) {
+            LOG.error("Error read {}", fileName, e);
+            return of(Collections.emptyList());
+        }
+        long checksum = DictionaryImage.checksum(text);
+        Dictionary dictionary = DictionaryImage.fromClassPath(DictionaryImage.imageName(fileName), checksum, offHeap);
+        if (dictionary == null) {
+            try {
+                dictionary = load(new ByteArrayInputStream(text));
+            } catch (IOException e) {
+                LOG.error("Error read {}", fileName, e);
+                return of(Collections.emptyList());
+            }
+            dictionary = offHeap ? dictionary.offHeap() : dictionary;
+        }
+        GameIndex games = GameIndex.fromClassPath(GameIndex.gamesName(fileName), checksum);
+        if (games != null) {
+            dictionary.gameIndexes.put(gameKey(games.length(), games.minLength()), Lazy.of(games));
+        }
+        return dictionary;
+    }
+
+    /**
+     * Loads a dictionary from a word list file, one word per line (UTF-8).
+     *
+     * @param file  The word list.
+     * @return  The loaded dictionary.
+     * @throws IOException  If failed to read the file.
+     */
+    public static Dictionary fromFile(Path file) throws IOException {
+        return ofSorted(DictionaryLoader.sortedWords(file));
+    }
+
+    /**
+     * Loads a dictionary from a stream of words, one word per line (UTF-8).
+     * The stream is not closed.
+     *
+     * @param inputStream  The word list.
+     * @return  The loaded dictionary.
+     * @throws IOException  If failed to read from stream.
+     */
+    public static Dictionary load(InputStream inputStream) throws IOException {
+        return load(inputStream, UnaryOperator.identity());
+    }
+
+    static Dictionary load(InputStream inputStream, UnaryOperator<String> intern) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return of(lines, intern);
+    }
+
+    /**
+     * Creates a dictionary from the given words.
+     *
+     * @param words  The words, in any order and letter case.
+     * @return  The dictionary.
+     */
+    public static Dictionary of(Collection<String> words) {
+        return of(words, UnaryOperator.identity());
+    }
+
+    /*
+     * `intern` maps each normalized word to the instance to keep, so that
+     * dictionaries with words in common can share them.
+     */
+    static Dictionary of(Collection<String> words, UnaryOperator<String> intern) {
+        return ofSorted(sortedWords(words, intern));
+    }
+
+    /*
+     * From words already normalized, sorted and unique.
+     */
+    static Dictionary ofSorted(String[] words) {
+        if (words.length >= FRONT_CODING_MIN_SIZE) {
+            return new Dictionary(new FrontCodedWords(words));
+        }
+        return new Dictionary(new WordArray(words));
+    }
+
+    /*
+     * Front coded regardless of size.
+     */
+    static Dictionary frontCoded(Collection<String> words) {
+        return new Dictionary(new FrontCodedWords(sortedWords(words, UnaryOperator.identity())));
+    }
+
+    private static String[] sortedWords(Collection<String> words, UnaryOperator<String> intern) {
+        String[] array = new String[words.size()];
+        int size = 0;
+        int skipped = 0;
+        for (String word : words) {
+            String normalized = normalize(word);
+            if (normalized == null) {
+                skipped += 1;
+            } else {
+                array[size++] = normalized;
+            }
+        }
+        Arrays.sort(array, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || !array[i].equals(array[unique - 1])) {
+                array[unique++] = intern.apply(array[i]);
+            }
+        }
+        if (skipped > 0) {
+            LOG.debug("Skipped {} blank or non a-z words", skipped);
+        }
+        return Arrays.copyOf(array, unique);
+    }
+
+    static String normalize(String word) {
+        if (word == null) {
+            return null;
+        }
+        String normalized = word.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            char ch = normalized.charAt(i);
+            if (ch < 'a' || ch > 'z') {
+                return null;
+            }
+        }
+        return normalized;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * @param id  The word ID, 0 (inclusive) to {@link #size()} (exclusive).
+     * @return  The word.
+     */
+    public String word(int id) {
+        return words.word(id);
+    }
+
+    /**
+     * Looks up a word, case insensitive, in constant time; or in O(log n)
+     * when front coded.
+     *
+     * @param word  The word to look up.
+     * @return  The word ID, or -1 if not found.
+     */
+    public int indexOf(CharSequence word) {
+        return wordSet != null ? wordSet.get().indexOf(word) : words.indexOf(word);
+    }
+
+    public boolean contains(CharSequence word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Finds the words starting with `prefix`, case insensitive, in
+     * O(prefix length) using the radix trie; or in O(log n) when front
+     * coded or off heap.
+     *
+     * @param prefix  The prefix, letters only.
+     * @return  The IDs of the matching words, which are consecutive: the
+     *          first, and the last (exclusive). Both are equal if none.
+     */
+    public int[] prefixRange(CharSequence prefix) {
+        if (prefix == null) {
+            return new int[2];
+        }
+        if (prefixTrie == null) {
+            int from = words.prefixFrom(prefix);
+            return new int[] { from, Math.max(from, words.prefixTo(prefix)) };
+        }
+        PrefixTrie trie = prefixTrie.get();
+        int node = trie.find(prefix);
+        if (node == PrefixTrie.NONE) {
+            return new int[2];
+        }
+        return new int[] { trie.lo(node), trie.hi(node) };
+    }
+
+    /**
+     * Finds the words starting with `prefix`, as {@link #prefixRange}.
+     *
+     * @param prefix  The prefix, letters only.
+     * @param limit   The maximum number of words to return.
+     * @return  Unmodifiable view of the matching words, sorted.
+     */
+    public List<String> wordsWithPrefix(CharSequence prefix, int limit) {
+        int[] range = prefixRange(prefix);
+        int from = range[0];
+        int to = range[1];
+        if (to <= from || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return wordList.subList(from, from + Math.min(to - from, limit));
+    }
+
+    /**
+     * Walks the words starting with `prefix`, as {@link #prefixRange}, that
+     * sort after `cursor`; for paging through them, `cursor` being the last
+     * word of the previous page. Takes constant memory, however many words
+     * match.
+     *
+     * @param prefix  The prefix, letters only.
+     * @param cursor  The word to start after, case insensitive; or null to
+     *                start from the first.
+     * @return  The IDs of the matching words, in order.
+     */
+    public PrimitiveIterator.OfInt prefixIds(CharSequence prefix, CharSequence cursor) {
+        int[] range = prefixRange(prefix);
+        return IntStream.range(Math.max(range[0], idAfter(cursor)), range[1]).iterator();
+    }
+
+    /*
+     * The first ID whose word sorts after `cursor`, which need not be a
+     * word itself; 0 if null. Words sort the same whatever the dictionary,
+     * so a cursor stays valid across reloads.
+     */
+    int idAfter(CharSequence cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        int id = indexOf(cursor);
+        return id >= 0 ? id + 1 : words.prefixFrom(cursor);
+    }
+
+    /*
+     * null when front coded.
+     */
+    PrefixTrie prefixTrie() {
+        return prefixTrie == null ? null : prefixTrie.get();
+    }
+
+    /**
+     * Picks a random word of `length` in constant time.
+     *
+     * @param length  The word length.
+     * @return  The word, or null if no word has that length.
+     */
+    public String randomWord(int length) {
+        int id = lengthIndex.get().pickRandom(length);
+        return id < 0 ? null : words.word(id);
+    }
+
+    /**
+     * @return  The precomputed games for `length` and `minLength`,
+     *          precomputing them first if there are none; callers asking
+     *          for the same pair meanwhile wait rather than compute them
+     *          again, while other pairs are not held up.
+     */
+    GameIndex precomputedGames(int length, int minLength) {
+        if (length > lengthIndex().maxLength()) {
+            // no originals; not kept, so that the keys stay bounded
+            return GameIndex.build(this, length, minLength);
+        }
+        return gameIndexes.computeIfAbsent(gameKey(length, minLength),
+                key -> new Lazy<>(() -> GameIndex.build(this, length, minLength))).get();
+    }
+
+    /**
+     * @return  The precomputed games for `length` and `minLength`, or null
+     *          if there are none (yet).
+     */
+    GameIndex gameIndex(int length, int minLength) {
+        Lazy<GameIndex> games = gameIndexes.get(gameKey(length, minLength));
+        return games != null && games.isComputed() && games.get().matches(this, length, minLength) ? games.get()
+                : null;
+    }
+
+    private static long gameKey(int length, int minLength) {
+        return (long) length << Integer.SIZE | minLength;
+    }
+
+    LengthIndex lengthIndex() {
+        return lengthIndex.get();
+    }
+
+    SearchIndex searchIndex() {
+        return searchIndex.get();
+    }
+
+    SignatureIndex signatureIndex() {
+        return signatureIndex.get();
+    }
+
+    LetterCounts letterCounts() {
+        return letterCounts.get();
+    }
+
+    int[] palindromeIds() {
+        return palindromeIds.get();
+    }
+
+    /**
+     * Finds the words matching the given criteria, each optional; see
+     * {@link JumbleEngine#searchWords}.
+     *
+     * @param first   The first letter, case insensitive, or null for any.
+     * @param last    The last letter, case insensitive, or null for any.
+     * @param length  The word length, or null for any.
+     * @return  Sorted IDs of the matching words; empty if no criteria is
+     *          given, or any is invalid.
+     */
+    public int[] searchIds(Character first, Character last, Integer length) {
+        int firstIndex = first == null ? SearchIndex.ANY : letterIndex(first);
+        int lastIndex = last == null ? SearchIndex.ANY : letterIndex(last);
+        if (firstIndex < SearchIndex.ANY || lastIndex < SearchIndex.ANY || (length != null && length < 1)) {
+            return new int[0];
+        }
+        return searchIndex.get().searchIds(firstIndex, lastIndex, length == null ? SearchIndex.ANY : length);
+    }
+
+    /**
+     * Same as {@link #searchIds(Character, Character, Integer)}, but walks
+     * the words that sort after `cursor`, one at a time, as
+     * {@link #prefixIds}. Takes constant memory, however many words match.
+     *
+     * @param cursor  The word to start after, case insensitive; or null to
+     *                start from the first.
+     * @return  The IDs of the matching words, in order.
+     */
+    public PrimitiveIterator.OfInt searchIds(Character first, Character last, Integer length, CharSequence cursor) {
+        int firstIndex = first == null ? SearchIndex.ANY : letterIndex(first);
+        int lastIndex = last == null ? SearchIndex.ANY : letterIndex(last);
+        if (firstIndex < SearchIndex.ANY || lastIndex < SearchIndex.ANY || (length != null && length < 1)) {
+            return IntStream.empty().iterator();
+        }
+        return searchIndex.get().iterator(firstIndex, lastIndex, length == null ? SearchIndex.ANY : length,
+                idAfter(cursor));
+    }
+
+    /*
+     * 'a'/'A' to 'z'/'Z' as 0 to 25; other characters (no word has them) as
+     * -2, i.e. below SearchIndex.ANY.
+     */
+    private static int letterIndex(char ch) {
+        char lower = Character.toLowerCase(ch);
+        return lower >= 'a' && lower <= 'z' ? lower - 'a' : SearchIndex.ANY - 1;
+    }
+
+    /**
+     * Finds the words closest to `word` ("did you mean"), case
+     * insensitive, by {@link LevenshteinSearch}; `word` itself is not one
+     * of them.
+     *
+     * @param word         The word, e.g. a misspelling.
+     * @param maxDistance  The most letters inserted, deleted or replaced,
+     *                     0 or more.
+     * @param limit        The most words to return.
+     * @return  IDs of the closest words, by distance, then by ID; empty if
+     *          `word` is not 'a' to 'z' only, or longer than every word by
+     *          more than `maxDistance`.
+     */
+    public int[] suggestionIds(CharSequence word, int maxDistance, int limit) {
+        String normalized = word == null ? null : normalize(word.toString());
+        if (normalized == null || maxDistance < 0 || limit <= 0
+                || normalized.length() - maxDistance > words.maxLength()) {
+            return new int[0];
+        }
+        int[] ids = LevenshteinSearch.search(words, normalized, maxDistance, limit + 1);
+        int self = indexOf(normalized);
+        IdBuffer others = new IdBuffer();
+        for (int id : ids) {
+            if (id != self && others.size() < limit) {
+                others.add(id);
+            }
+        }
+        return others.toArray();
+    }
+
+    /**
+     * Finds the words matching `pattern`, case insensitive, by
+     * {@link WildcardSearch}: '?' (or '.') is any one letter, '*' any
+     * letters, none included. The letters before the first wildcard are
+     * looked up as {@link #prefixRange}, and only their words are walked.
+     *
+     * @param pattern  The pattern, e.g. "a?p??e" or "un*able".
+     * @param limit    The most words to return.
+     * @return  Sorted IDs of the first `limit` matching words; empty if
+     *          `pattern` has anything other than letters and wildcards.
+     */
+    public int[] patternIds(CharSequence pattern, int limit) {
+        String normalized = pattern == null ? null : WildcardSearch.normalize(pattern.toString());
+        if (normalized == null || limit <= 0) {
+            return new int[0];
+        }
+        int[] range = prefixRange(WildcardSearch.literalPrefix(normalized));
+        return WildcardSearch.search(words, normalized, range[0], range[1], limit);
+    }
+
+    /**
+     * Finds the exact anagrams of `letters`, case insensitive: the words
+     * using each of its letters exactly as many times, `letters` itself
+     * too if a word. One hash lookup of the letter signature in
+     * {@link SignatureIndex}, so O(letters).
+     *
+     * @param letters  The letters, in any order.
+     * @return  Sorted IDs of the anagrams; empty if `letters` is not 'a'
+     *          to 'z' only.
+     */
+    public int[] anagramIds(CharSequence letters) {
+        String normalized = letters == null ? null : normalize(letters.toString());
+        if (normalized == null) {
+            return new int[0];
+        }
+        int[] counts = LetterCounts.count(normalized);
+        SignatureIndex index = signatureIndex.get();
+        if (LetterCounts.isPackable(counts)) {
+            int group = index.group(LetterCounts.low(counts), LetterCounts.high(counts));
+            return group < 0 ? new int[0]
+                    : Arrays.copyOfRange(index.groupIds(), index.groupFrom(group), index.groupTo(group));
+        }
+        IdBuffer ids = new IdBuffer();
+        WordCursor cursor = words.cursor();
+        for (int id : index.unpackable()) {
+            if (Arrays.equals(counts, LetterCounts.count(cursor.moveTo(id)))) {
+                ids.add(id);
+            }
+        }
+        return ids.toArray();
+    }
+
+    /**
+     * Lists the groups of two or more words of `length` that are anagrams
+     * of each other, from the groups of {@link SignatureIndex}.
+     *
+     * @param length  The word length.
+     * @param limit   The most groups to return.
+     * @return  Sorted IDs of each group's words; groups ordered by their
+     *          first word.
+     */
+    public List<int[]> anagramGroupIds(int length, int limit) {
+        SignatureIndex index = signatureIndex.get();
+        int[] groupIds = index.groupIds();
+        List<int[]> groups = new ArrayList<>();
+        // groups are numbered in the order of their first word
+        for (int group = 0; group < index.groupCount() && groups.size() < limit; group++) {
+            int from = index.groupFrom(group);
+            int to = index.groupTo(group);
+            if (to - from >= 2 && words.length(groupIds[from]) == length) {
+                groups.add(Arrays.copyOfRange(groupIds, from, to));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Finds the phrases whose words together use exactly the letters of
+     * `letters`, case insensitive, by {@link AnagramPhrases}; spaces are
+     * ignored. The candidate words are the sub words of `letters`.
+     *
+     * @param letters    The letters, in any order, at most
+     *                   {@link AnagramPhrases#MAX_LETTERS}.
+     * @param minLength  The minimum length of each word, positive.
+     * @param maxWords   The most words in a phrase.
+     * @param limit      The most phrases to return.
+     * @return  Word IDs of each phrase, longest word first; empty if
+     *          `letters` is not 'a' to 'z' and spaces only, or too long.
+     *          Only the first ones, if the search stopped at
+     *          {@link AnagramPhrases#MAX_STEPS}.
+     */
+    public List<int[]> phraseIds(CharSequence letters, int minLength, int maxWords, int limit) {
+        String normalized = letters == null ? null : normalize(letters.toString().replace(" ", ""));
+        if (normalized == null || normalized.length() > AnagramPhrases.MAX_LETTERS || minLength <= 0) {
+            return new ArrayList<>();
+        }
+        int[] counts = LetterCounts.count(normalized);
+        return new AnagramPhrases(words, counts, subWordIds(counts, minLength), maxWords, limit).search();
+    }
+
+    /**
+     * Finds the highest-scoring words playable from `rack`, case
+     * insensitive, by {@link RackSolver}: each tile used at most once,
+     * '?' (or '.') a blank for any letter, scoring 0.
+     *
+     * @param rack   The tiles, at most {@link RackSolver#MAX_TILES}.
+     * @param limit  The most words to return.
+     * @return  The best words of two or more letters, by score, then
+     *          alphabetically; empty if `rack` has anything other than
+     *          letters and blanks.
+     */
+    public List<RackWord> rackWords(CharSequence rack, int limit) {
+        String normalized = rack == null ? null : RackSolver.normalize(rack.toString());
+        if (normalized == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return RackSolver.solve(words, letterCounts.get(), normalized, limit);
+    }
+
+    /**
+     * Finds the words that can be built from the letters of `word`, case
+     * insensitive, each letter used at most as many times as in `word`;
+     * `word` itself is not one of them.
+     *
+     * @param word       The base word.
+     * @param minLength  The minimum length of sub words, positive.
+     * @return  Sorted IDs of the sub words.
+     */
+    public int[] subWordIds(CharSequence word, int minLength) {
+        return withoutWord(subWordIds(LetterCounts.count(word), minLength), word);
+    }
+
+    /*
+     * `ids` less the ID of `word`, if there; otherwise `ids` itself.
+     */
+    int[] withoutWord(int[] ids, CharSequence word) {
+        int self = Arrays.binarySearch(ids, indexOf(word));
+        if (self < 0) {
+            return ids;
+        }
+        int[] others = new int[ids.length - 1];
+        System.arraycopy(ids, 0, others, 0, self);
+        System.arraycopy(ids, self + 1, others, self, others.length - self);
+        return others;
+    }
+
+    /**
+     * Finds the words that can be built from the letters of `counts`, each
+     * letter used at most as many times as counted.
+     *
+     * Enumerates the sub-multisets of the letters through
+     * {@link SignatureIndex} when there are fewer of them than
+     * {@link #ENUMERATION_RATIO} of the dictionary; otherwise scans the
+     * packed letter counts of all words.
+     *
+     * @param counts     Letter counts of the base word.
+     * @param minLength  The minimum length of sub words, positive.
+     * @return  Sorted IDs of the sub words.
+     */
+    int[] subWordIds(int[] counts, int minLength) {
+        if (SignatureIndex.enumerationCost(counts) <= (long) words.size() * ENUMERATION_RATIO / 100) {
+            return enumerateSubWordIds(counts, minLength);
+        }
+        return scanSubWordIds(counts, minLength);
+    }
+
+    int[] enumerateSubWordIds(int[] counts, int minLength) {
+        IdBuffer ids = new IdBuffer();
+        SignatureIndex index = signatureIndex.get();
+        index.collectSubWords(counts, minLength, ids);
+        WordCursor cursor = words.cursor();
+        for (int id : index.unpackable()) {
+            if (words.length(id) >= minLength && LetterCounts.contains(counts, cursor.moveTo(id))) {
+                ids.add(id);
+            }
+        }
+        return ids.toSortedArray();
+    }
+
+    int[] scanSubWordIds(int[] counts, int minLength) {
+        IdBuffer ids = new IdBuffer();
+        letterCounts.get().collectContained(counts, minLength, words, ids);
+        return ids.toArray();
+    }
+
+    /**
+     * The palindrome words, of two or more letters, found once when the
+     * dictionary was built.
+     *
+     * @return  Unmodifiable view of the palindromes, sorted; shared.
+     */
+    public List<String> palindromes() {
+        return palindromes.get();
+    }
+
+    /**
+     * @param ids  Sorted word IDs; not copied, must not be modified.
+     * @return  Unmodifiable view of the words.
+     */
+    public List<String> wordsOf(int[] ids) {
+        return new WordList(words, ids);
+    }
+
+    /**
+     * @param ids  Word IDs, e.g. from {@link #prefixIds}.
+     * @return  The words, looked up one at a time, as iterated.
+     */
+    public Iterator<String> wordsOf(PrimitiveIterator.OfInt ids) {
+        WordCursor cursor = words.cursor();
+        return new Iterator<String>() {
+
+            @Override
+            public boolean hasNext() {
+                return ids.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return cursor.moveTo(ids.nextInt()).toString();
+            }
+
+        };
+    }
+
+    /**
+     * @return  Unmodifiable view of all words, sorted.
+     */
+    public List<String> words() {
+        return wordList;
+    }
+
+    @Override
+    public String toString() {
+        return "size=[" + words.size() + "]";
+    }
+
+}
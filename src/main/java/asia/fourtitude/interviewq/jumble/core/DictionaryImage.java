@@ -0,0 +1,281 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Binary image of a {@link Dictionary}: the normalized words and the indexes
+ * derived from them (letter counts, length buckets, palindromes), written at
+ * build time so that startup does not parse the word list.
+ *
+ * The image records the CRC-32 of the word list it was compiled from, and
+ * is only used while that still matches. Layout, all big-endian:
+ *
+ * <pre>
+ * int magic, int version, long word list CRC-32
+ * int[] word offsets, byte[] letters
+ * LetterCounts, LengthIndex, int[] palindrome IDs
+ * </pre>
+ *
+ * where every array is written as its length followed by the elements.
+ *
+ * The build runs {@link #main} on "words.txt" (see pom.xml), producing
+ * "words.bin" next to it.
+ */
+public final class DictionaryImage {
+
+    private static final int MAGIC = 0x4A4D424C;
+
+    /*
+     * Bump whenever the layout, or the meaning of any indexed value, changes.
+     */
+    private static final int VERSION = 1;
+
+    private static final String EXTENSION = ".bin";
+
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryImage.class);
+
+    private DictionaryImage() {
+    }
+
+    /**
+     * Compiles a word list into an image.
+     *
+     * @param args  The word list file, and the image file to write.
+     * @throws IOException  If failed to read or write.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: DictionaryImage <word list> <image>");
+        }
+        Path source = Paths.get(args[0]);
+        Path target = Paths.get(args[1]);
+        byte[] text = Files.readAllBytes(source);
+        Dictionary dictionary = Dictionary.load(new ByteArrayInputStream(text));
+        try (OutputStream out = Files.newOutputStream(target)) {
+            write(dictionary, checksum(text), out);
+        }
+        LOG.info("Compiled {} words from {} into {}", dictionary.size(), source, target);
+    }
+
+    /**
+     * @param fileName  The word list resource name, e.g. "words.txt".
+     * @return  The image resource name, e.g. "words.bin".
+     */
+    static String imageName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        int slash = fileName.lastIndexOf('/');
+        return (dot > slash + 1 ? fileName.substring(0, dot) : fileName) + EXTENSION;
+    }
+
+    /**
+     * @return  The CRC-32 of the word list bytes.
+     */
+    static long checksum(byte[] text) {
+        CRC32 crc = new CRC32();
+        crc.update(text, 0, text.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Reads an image from the classpath, memory-mapped when it is a plain
+     * file; an image packed inside a jar cannot be mapped, so it is read in
+     * one piece instead.
+     *
+     * @param imageName  The classpath resource name of the image.
+     * @param checksum   The CRC-32 of the word list the image must match.
+     * @param offHeap    Whether to keep the words off heap; a mapped image's
+     *                   words are then used in place.
+     * @return  The dictionary, or null if there is no usable image.
+     */
+    static Dictionary fromClassPath(String imageName, long checksum, boolean offHeap) {
+        ClassPathResource resource = new ClassPathResource(imageName);
+        if (!resource.exists()) {
+            LOG.debug("No dictionary image {}", imageName);
+            return null;
+        }
+        try {
+            ByteBuffer buffer;
+            if (resource.isFile()) {
+                try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            } else {
+                try (InputStream inputStream = resource.getInputStream()) {
+                    buffer = ByteBuffer.wrap(StreamUtils.copyToByteArray(inputStream));
+                }
+            }
+            Dictionary dictionary = read(buffer, checksum, offHeap);
+            if (dictionary == null) {
+                LOG.warn("Dictionary image {} is stale or of another version, parsing word list instead", imageName);
+            }
+            return dictionary;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Error read {}, parsing word list instead", imageName, e);
+            return null;
+        }
+    }
+
+    static void write(Dictionary dictionary, long checksum, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(checksum);
+
+        int size = dictionary.size();
+        int[] offsets = new int[size + 1];
+        WordCursor cursor = dictionary.cursor();
+        for (int id = 0; id < size; id++) {
+            offsets[id + 1] = offsets[id] + cursor.moveTo(id).length();
+        }
+        writeInts(out, offsets);
+        out.writeInt(offsets[size]);
+        for (int id = 0; id < size; id++) {
+            WordCursor word = cursor.moveTo(id);
+            for (int i = 0; i < word.length(); i++) {
+                out.writeByte(word.charAt(i));
+            }
+        }
+
+        dictionary.letterCounts().write(out);
+        dictionary.lengthIndex().write(out);
+        writeInts(out, dictionary.palindromeIds());
+        out.flush();
+    }
+
+    static Dictionary read(ByteBuffer in, long checksum) {
+        return read(in, checksum, false);
+    }
+
+    /**
+     * @param in        The image.
+     * @param checksum  The CRC-32 of the word list the image must match.
+     * @param offHeap   Whether to keep the words off heap; the words of a
+     *                  direct (e.g. mapped) buffer are then used in place,
+     *                  without copying.
+     * @return  The dictionary, or null if the image is not for this word
+     *          list or not of this version.
+     * @throws BufferUnderflowException  If the image is truncated.
+     */
+    static Dictionary read(ByteBuffer in, long checksum, boolean offHeap) {
+        if (in.remaining() < 16 || in.getInt() != MAGIC || in.getInt() != VERSION || in.getLong() != checksum) {
+            return null;
+        }
+        WordStorage words = offHeap ? readOffHeapWords(in) : readWords(in);
+
+        LetterCounts letterCounts = LetterCounts.read(in);
+        LengthIndex lengthIndex = LengthIndex.read(in);
+        int[] palindromeIds = readInts(in);
+        if (letterCounts.size() != words.size()) {
+            throw new IllegalStateException("Letter counts size=[" + letterCounts.size() + "]");
+        }
+        return new Dictionary(words, letterCounts, lengthIndex, palindromeIds);
+    }
+
+    private static WordStorage readWords(ByteBuffer in) {
+        int[] offsets = readInts(in);
+        int letterCount = in.getInt();
+        if (offsets.length == 0 || letterCount < 0 || letterCount > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] letters = new byte[letterCount];
+        in.get(letters);
+        String[] words = new String[offsets.length - 1];
+        for (int id = 0; id < words.length; id++) {
+            words[id] = new String(letters, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.US_ASCII);
+        }
+        return new WordArray(words);
+    }
+
+    /*
+     * Slices of `in`, copied to a direct buffer first if on the heap.
+     */
+    private static WordStorage readOffHeapWords(ByteBuffer in) {
+        int length = in.getInt();
+        if (length <= 0 || length > in.remaining() / 4) {
+            throw new BufferUnderflowException();
+        }
+        IntBuffer offsets = direct(slice(in, 4 * length)).asIntBuffer();
+        int letterCount = in.getInt();
+        if (letterCount < 0 || letterCount > in.remaining() || offsets.get(length - 1) != letterCount) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer letters = direct(slice(in, letterCount));
+        return new OffHeapWords(offsets, letters);
+    }
+
+    private static ByteBuffer slice(ByteBuffer in, int length) {
+        ByteBuffer slice = in.slice();
+        ((Buffer) slice).limit(length);
+        ((Buffer) in).position(in.position() + length);
+        return slice.order(in.order());
+    }
+
+    private static ByteBuffer direct(ByteBuffer buffer) {
+        if (buffer.isDirect()) {
+            return buffer;
+        }
+        ByteBuffer copy = ByteBuffer.allocateDirect(buffer.remaining()).order(buffer.order());
+        copy.put(buffer.duplicate());
+        ((Buffer) copy).flip();
+        return copy;
+    }
+
+    static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    static int[] readInts(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining() / 4) {
+            throw new BufferUnderflowException();
+        }
+        int[] values = new int[length];
+        in.asIntBuffer().get(values);
+        // through Buffer, whose position(int) is also on Java 8; ByteBuffer's is Java 9+
+        ((Buffer) in).position(in.position() + 4 * length);
+        return values;
+    }
+
+    static long[] readLongs(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining() / 8) {
+            throw new BufferUnderflowException();
+        }
+        long[] values = new long[length];
+        in.asLongBuffer().get(values);
+        ((Buffer) in).position(in.position() + 8 * length);
+        return values;
+    }
+
+}
@@ -0,0 +1,266 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses a word list file in parallel.
+ *
+ * The file is split into chunks at line boundaries, each chunk memory-mapped
+ * on its own. On the common {@link ForkJoinPool}, every chunk is parsed
+ * straight from its bytes into normalized words, which are then sorted and
+ * de-duplicated; pairs of these sorted runs are merged up the fork/join
+ * tree into the final sorted word list. Words are normalized exactly as
+ * {@link Dictionary#load} does, so the result is the same.
+ */
+final class DictionaryLoader {
+
+    /*
+     * Chunks are at least this big, so small files are one chunk, and at
+     * most this big, so any chunk can be mapped.
+     */
+    static final int MIN_CHUNK_BYTES = 1 << 20;
+
+    static final int MAX_CHUNK_BYTES = 64 << 20;
+
+    /*
+     * Chunks per worker thread, so that uneven chunks still balance.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final int SCAN_BYTES = 8192;
+
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryLoader.class);
+
+    private DictionaryLoader() {
+    }
+
+    /**
+     * @param file  The word list, one word per line (UTF-8).
+     * @return  The normalized words, sorted, without duplicates.
+     * @throws IOException  If failed to read the file.
+     */
+    static String[] sortedWords(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunks = Math.min(size / MIN_CHUNK_BYTES,
+                    (long) CHUNKS_PER_THREAD * ForkJoinPool.getCommonPoolParallelism());
+            chunks = Math.max(chunks, (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+            return sortedWords(channel, (int) Math.max(chunks, 1));
+        }
+    }
+
+    static String[] sortedWords(FileChannel channel, int chunks) throws IOException {
+        long[] bounds = chunkBounds(channel, chunks);
+        LongAdder skipped = new LongAdder();
+        String[] words;
+        try {
+            words = ForkJoinPool.commonPool().invoke(new ParseTask(channel, bounds, 0, bounds.length - 1, skipped));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (InternalError e) {
+            // what reading a mapped file that was truncated meanwhile throws
+            throw new IOException("File changed while reading", e);
+        }
+        if (skipped.sum() > 0) {
+            LOG.debug("Skipped {} blank or non a-z words", skipped.sum());
+        }
+        return words;
+    }
+
+    /*
+     * Cuts the file into about equal chunks, moving each cut past the next
+     * line break.
+     */
+    private static long[] chunkBounds(FileChannel channel, int chunks) throws IOException {
+        long size = channel.size();
+        long[] bounds = new long[chunks + 1];
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+        for (int i = 1; i < chunks; i++) {
+            long cut = Math.max(size * i / chunks, bounds[i - 1]);
+            bounds[i] = nextLine(channel, cut, buffer);
+        }
+        bounds[chunks] = size;
+        return bounds;
+    }
+
+    private static long nextLine(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        while (true) {
+            // through Buffer, for Java 8: ByteBuffer.clear() is Java 9+
+            ((Buffer) buffer).clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n' || b == '\r') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private static final class ParseTask extends RecursiveTask<String[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+
+        private final long[] bounds;
+
+        private final int from;
+
+        private final int to;
+
+        private final LongAdder skipped;
+
+        ParseTask(FileChannel channel, long[] bounds, int from, int to, LongAdder skipped) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.skipped = skipped;
+        }
+
+        @Override
+        protected String[] compute() {
+            if (to - from == 1) {
+                try {
+                    return parse(channel.map(FileChannel.MapMode.READ_ONLY, bounds[from], bounds[to] - bounds[from]));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int mid = (from + to) >>> 1;
+            ParseTask left = new ParseTask(channel, bounds, from, mid, skipped);
+            left.fork();
+            String[] right = new ParseTask(channel, bounds, mid, to, skipped).compute();
+            return merge(left.join(), right);
+        }
+
+        /*
+         * One word per line; lines end at '\n', '\r' or both.
+         */
+        private String[] parse(MappedByteBuffer chunk) {
+            String[] words = new String[16];
+            int size = 0;
+            int skippedLines = 0;
+            char[] letters = new char[64];
+            int limit = chunk.limit();
+            int start = 0;
+            while (start < limit) {
+                int end = start;
+                while (end < limit && chunk.get(end) != '\n' && chunk.get(end) != '\r') {
+                    end++;
+                }
+                if (end - start > letters.length) {
+                    letters = new char[end - start];
+                }
+                String word = word(chunk, start, end, letters);
+                if (word != null) {
+                    if (size == words.length) {
+                        words = Arrays.copyOf(words, size * 2);
+                    }
+                    words[size++] = word;
+                } else if (end > start) {
+                    skippedLines++;
+                }
+                start = end + 1;
+            }
+            skipped.add(skippedLines);
+            Arrays.sort(words, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || !words[i].equals(words[unique - 1])) {
+                    words[unique++] = words[i];
+                }
+            }
+            return Arrays.copyOf(words, unique);
+        }
+
+        /*
+         * The normalized word of the line [start, end), or null if none.
+         */
+        private static String word(ByteBuffer chunk, int start, int end, char[] letters) {
+            // trimmed like String.trim()
+            while (start < end && (chunk.get(start) & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (chunk.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return null;
+            }
+            int length = end - start;
+            for (int i = 0; i < length; i++) {
+                int b = chunk.get(start + i) & 0xFF;
+                if (b >= 'a' && b <= 'z') {
+                    letters[i] = (char) b;
+                } else if (b >= 'A' && b <= 'Z') {
+                    letters[i] = (char) (b + ('a' - 'A'));
+                } else if (b >= 0x80) {
+                    // some non-ASCII letters lower-case to 'a' to 'z'
+                    return Dictionary.normalize(decode(chunk, start, end));
+                } else {
+                    return null;
+                }
+            }
+            return new String(letters, 0, length);
+        }
+
+        private static String decode(ByteBuffer chunk, int start, int end) {
+            byte[] bytes = new byte[end - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = chunk.get(start + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+    }
+
+    /*
+     * Merges two sorted runs without duplicates into one.
+     */
+    static String[] merge(String[] a, String[] b) {
+        String[] out = new String[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            int comparison = a[i].compareTo(b[j]);
+            if (comparison < 0) {
+                out[size++] = a[i++];
+            } else if (comparison > 0) {
+                out[size++] = b[j++];
+            } else {
+                out[size++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            out[size++] = a[i++];
+        }
+        while (j < b.length) {
+            out[size++] = b[j++];
+        }
+        return size == out.length ? out : Arrays.copyOf(out, size);
+    }
+
+}
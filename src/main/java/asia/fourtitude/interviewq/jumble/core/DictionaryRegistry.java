@@ -0,0 +1,146 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Named word lists (e.g. "kids", "tournament"), each with its own
+ * {@link JumbleEngine}, for callers to pick one per request.
+ *
+ * Besides the default engine, each dictionary is only loaded when its
+ * engine is first used, and its indexes when first needed. Words are
+ * interned across dictionaries: a word already in the default dictionary,
+ * or in an earlier loaded one, is stored once and shared, so heavily
+ * overlapping word lists mostly cost their own indexes. Only dictionaries
+ * keeping their words as Strings (not front coded, not off heap) can share
+ * them; there is no separate pool, which would cost more per word than it
+ * saves on words shared by no dictionary.
+ */
+public final class DictionaryRegistry {
+
+    public static final String DEFAULT_NAME = "default";
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryRegistry.class);
+
+    private final JumbleEngine defaultEngine;
+
+    private final Map<String, JumbleEngine> engines;
+
+    /*
+     * The other dictionaries loaded so far, to share their words.
+     */
+    private final List<Dictionary> loaded = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param defaultEngine  The engine of the default dictionary.
+     * @param locations      Word list of each other dictionary by name:
+     *                       "classpath:" followed by a resource name, or
+     *                       a file path.
+     */
+    public DictionaryRegistry(JumbleEngine defaultEngine, Map<String, String> locations) {
+        this(defaultEngine, locations, 0);
+    }
+
+    /**
+     * @param defaultEngine         The engine of the default dictionary.
+     * @param locations             Word list of each other dictionary by
+     *                              name, as above.
+     * @param subWordCacheCapacity  The sub-word results cached by each
+     *                              other engine; 0 for no cache.
+     */
+    public DictionaryRegistry(JumbleEngine defaultEngine, Map<String, String> locations, int subWordCacheCapacity) {
+        this.defaultEngine = Objects.requireNonNull(defaultEngine, "defaultEngine must not be null");
+        Map<String, JumbleEngine> map = new LinkedHashMap<>();
+        map.put(DEFAULT_NAME, defaultEngine);
+        for (Map.Entry<String, String> entry : locations.entrySet()) {
+            String name = entry.getKey();
+            String location = entry.getValue();
+            if (!DEFAULT_NAME.equals(name)) {
+                SubWordCache cache = subWordCacheCapacity > 0 ? new SubWordCache(subWordCacheCapacity) : null;
+                map.put(name, new JumbleEngine(new Lazy<>(() -> load(name, location)), cache));
+            }
+        }
+        this.engines = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @return  The dictionary names, the default first.
+     */
+    public Set<String> getNames() {
+        return engines.keySet();
+    }
+
+    /**
+     * @param name  The dictionary name; blank for the default.
+     * @return  The engine of that dictionary, or null if there is none.
+     */
+    public JumbleEngine getEngine(String name) {
+        if (StringUtils.isBlank(name)) {
+            return defaultEngine;
+        }
+        return engines.get(name.trim());
+    }
+
+    public JumbleEngine getDefaultEngine() {
+        return defaultEngine;
+    }
+
+    /*
+     * Loads a word list; if it cannot be read, the error is logged and the
+     * dictionary is empty.
+     */
+    private Dictionary load(String name, String location) {
+        List<Dictionary> sources = new ArrayList<>();
+        sources.add(defaultEngine.getDictionary());
+        sources.addAll(loaded);
+        sources.removeIf(source -> !source.sharesWords());
+        try (InputStream inputStream = open(location)) {
+            Dictionary dictionary = Dictionary.load(inputStream, word -> intern(sources, word));
+            loaded.add(dictionary);
+            LOG.info("Loaded dictionary {} {} from {}", name, dictionary, location);
+            return dictionary;
+        } catch (IOException e) {
+            LOG.error("Error read {} for dictionary {}", location, name, e);
+            return Dictionary.of(Collections.emptyList());
+        }
+    }
+
+    private static InputStream open(String location) throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            return new ClassPathResource(location.substring(CLASSPATH_PREFIX.length())).getInputStream();
+        }
+        return Files.newInputStream(Paths.get(location));
+    }
+
+    /*
+     * The instance of `word` in the first of `sources` having it, or `word`
+     * itself.
+     */
+    private static String intern(List<Dictionary> sources, String word) {
+        for (Dictionary source : sources) {
+            int id = source.indexOf(word);
+            if (id >= 0) {
+                return source.word(id);
+            }
+        }
+        return word;
+    }
+
+}
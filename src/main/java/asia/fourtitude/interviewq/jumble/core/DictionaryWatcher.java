@@ -0,0 +1,156 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Supplies the {@link Dictionary} loaded from an external word list file,
+ * and reloads it whenever the file changes.
+ *
+ * The file's directory is watched with a {@link WatchService} on a daemon
+ * thread. On change, a new dictionary with all its indexes is built on that
+ * thread, while readers keep using the current one; it is then published
+ * with one atomic reference swap. Readers never lock, and each
+ * {@link #get()} returns a complete, immutable snapshot.
+ *
+ * If the file cannot be read, or the dictionary cannot be built from it,
+ * the error is logged and the current dictionary (initially the fallback)
+ * is kept, and the file is still watched.
+ *
+ * Reloaded dictionaries are stored off heap when the fallback is (see
+ * {@link Dictionary#offHeap()}).
+ */
+public final class DictionaryWatcher implements Supplier<Dictionary>, Closeable {
+
+    /*
+     * Editors and copies often change a file in several steps; wait for the
+     * events to stop for this long before reloading.
+     */
+    private static final long QUIET_MILLIS = 200;
+
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryWatcher.class);
+
+    private final Path file;
+
+    private final AtomicReference<Dictionary> current;
+
+    private final WatchService watchService;
+
+    private final Thread thread;
+
+    private final boolean offHeap;
+
+    private DictionaryWatcher(Path file, Dictionary fallback) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.offHeap = fallback.isOffHeap();
+        this.current = new AtomicReference<>(fallback);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "dictionary-watcher");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Loads the word list `file`, and starts watching it.
+     *
+     * @param file      The word list, one word per line (UTF-8).
+     * @param fallback  The dictionary to use until `file` can be read.
+     * @return  The started watcher; close it to stop watching.
+     * @throws IOException  If the file's directory cannot be watched.
+     */
+    public static DictionaryWatcher start(Path file, Dictionary fallback) throws IOException {
+        Objects.requireNonNull(fallback, "fallback must not be null");
+        DictionaryWatcher watcher = new DictionaryWatcher(file, fallback);
+        watcher.reload();
+        watcher.thread.start();
+        return watcher;
+    }
+
+    @Override
+    public Dictionary get() {
+        return current.get();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Rebuilds the dictionary from the file, and publishes it.
+     *
+     * @return  true if reloaded; false if the file could not be read, or
+     *          the dictionary could not be built from it.
+     */
+    public boolean reload() {
+        try {
+            Dictionary dictionary = Dictionary.fromFile(file);
+            if (offHeap) {
+                dictionary = dictionary.offHeap();
+            }
+            dictionary.buildIndexes();
+            current.set(dictionary);
+            LOG.info("Loaded dictionary {} from {}", dictionary, file);
+            return true;
+        } catch (IOException e) {
+            LOG.error("Error read {}, keeping dictionary {}", file, current.get(), e);
+            return false;
+        } catch (RuntimeException e) {
+            // e.g. a failed index build; keep watching, the next change may load
+            LOG.error("Error load {}, keeping dictionary {}", file, current.get(), e);
+            return false;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = concernsFile(key);
+                // collect the rest of a burst of changes into one reload
+                while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= concernsFile(key);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed, stop watching
+        }
+    }
+
+    private boolean concernsFile(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+
+}
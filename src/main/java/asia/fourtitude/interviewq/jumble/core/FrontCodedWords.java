@@ -0,0 +1,341 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Words front coded in blocks: shared-prefix compression of a sorted list.
+ *
+ * Every {@link #BLOCK_SIZE} words start a block, whose first word (head) is
+ * stored whole; each following word is stored as the number of leading
+ * letters it shares with the word before, and the remaining letters. All
+ * blocks are packed into one ASCII `byte[]`, with an `int[]` of block
+ * offsets, so sorted word lists take a few bytes per word instead of a
+ * `String` each.
+ *
+ * A lookup binary searches the block heads, then decodes at most one block
+ * into a `char[]` that it reuses for every word, without creating a
+ * `String` for any word it only compares. Scans read the words in order
+ * through a {@link WordCursor}, each decoded from the one before, and
+ * lengths are read without decoding letters.
+ */
+final class FrontCodedWords extends WordStorage {
+
+    static final int BLOCK_SIZE = 16;
+
+    private final byte[] data;
+
+    /*
+     * data offset of the head of each block
+     */
+    private final int[] blocks;
+
+    private final int size;
+
+    private final int maxLength;
+
+    /**
+     * @param words  The words, sorted, lower case 'a' to 'z' only, without
+     *               duplicates.
+     */
+    FrontCodedWords(String[] words) {
+        this.size = words.length;
+        this.blocks = new int[(words.length + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        byte[] out = new byte[Math.max(16, words.length * 4)];
+        int pos = 0;
+        int longest = 0;
+        for (int id = 0; id < words.length; id++) {
+            String word = words[id];
+            longest = Math.max(longest, word.length());
+            int shared = 0;
+            if (id % BLOCK_SIZE == 0) {
+                blocks[id / BLOCK_SIZE] = pos;
+            } else {
+                String previous = words[id - 1];
+                int max = Math.min(previous.length(), word.length());
+                while (shared < max && previous.charAt(shared) == word.charAt(shared)) {
+                    shared++;
+                }
+            }
+            int suffix = word.length() - shared;
+            if (pos + suffix + 10 > out.length) {
+                out = Arrays.copyOf(out, Math.max(out.length * 2, pos + suffix + 10));
+            }
+            if (id % BLOCK_SIZE != 0) {
+                pos = writeVarint(out, pos, shared);
+            }
+            pos = writeVarint(out, pos, suffix);
+            for (int i = shared; i < word.length(); i++) {
+                out[pos++] = (byte) word.charAt(i);
+            }
+        }
+        this.data = Arrays.copyOf(out, pos);
+        this.maxLength = longest;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    String word(int id) {
+        // decoded into an array of exactly its length; letters of the
+        // words before it past that length are not needed
+        int length = length(id);
+        byte[] letters = new byte[length];
+        int block = id / BLOCK_SIZE;
+        int pos = blocks[block];
+        int shared = 0;
+        int suffix = varint(data, pos);
+        pos += varintLength(suffix);
+        for (int k = block * BLOCK_SIZE; ; k++) {
+            System.arraycopy(data, pos, letters, Math.min(shared, length), Math.max(0, Math.min(suffix, length - shared)));
+            pos += suffix;
+            if (k == id) {
+                return new String(letters, StandardCharsets.ISO_8859_1);
+            }
+            shared = varint(data, pos);
+            pos += varintLength(shared);
+            suffix = varint(data, pos);
+            pos += varintLength(suffix);
+        }
+    }
+
+    /**
+     * Reads the lengths of the block, skipping over the letters.
+     */
+    @Override
+    int length(int id) {
+        int block = id / BLOCK_SIZE;
+        int pos = blocks[block];
+        int length = varint(data, pos);
+        pos += varintLength(length) + length;
+        for (int k = block * BLOCK_SIZE + 1; k <= id; k++) {
+            int shared = varint(data, pos);
+            pos += varintLength(shared);
+            int suffix = varint(data, pos);
+            pos += varintLength(suffix) + suffix;
+            length = shared + suffix;
+        }
+        return length;
+    }
+
+    @Override
+    int maxLength() {
+        return maxLength;
+    }
+
+    @Override
+    WordCursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    int decode(int id, char[] buffer) {
+        int block = id / BLOCK_SIZE;
+        int pos = blocks[block];
+        int length = varint(data, pos);
+        pos += varintLength(length);
+        pos = copy(pos, buffer, 0, length);
+        for (int k = block * BLOCK_SIZE + 1; k <= id; k++) {
+            int shared = varint(data, pos);
+            pos += varintLength(shared);
+            int suffix = varint(data, pos);
+            pos += varintLength(suffix);
+            pos = copy(pos, buffer, shared, suffix);
+            length = shared + suffix;
+        }
+        return length;
+    }
+
+    @Override
+    int indexOf(CharSequence word) {
+        char[] key = new char[word == null ? 0 : word.length()];
+        int keyLength = fold(word, key);
+        if (keyLength < 0 || keyLength > maxLength) {
+            return -1;
+        }
+        char[] buffer = new char[maxLength];
+        int id = bound(key, keyLength, false, buffer);
+        if (id < size && compare(buffer, decode(id, buffer), key, keyLength, false) == 0) {
+            return id;
+        }
+        return -1;
+    }
+
+    @Override
+    int prefixFrom(CharSequence prefix) {
+        return prefixBound(prefix, false);
+    }
+
+    @Override
+    int prefixTo(CharSequence prefix) {
+        return prefixBound(prefix, true);
+    }
+
+    @Override
+    long sizeInBytes() {
+        return 16L + data.length + 16L + 4L * blocks.length;
+    }
+
+    /*
+     * An invalid prefix gives 0 for both bounds, an empty range.
+     */
+    private int prefixBound(CharSequence prefix, boolean upper) {
+        char[] key = new char[prefix == null ? 0 : prefix.length()];
+        int keyLength = fold(prefix, key);
+        if (keyLength < 0) {
+            return 0;
+        }
+        return bound(key, keyLength, upper, new char[maxLength]);
+    }
+
+    /**
+     * The first ID whose word is not before `key`: lower bound, or with
+     * `upper`, the first word past all the words starting with `key`.
+     */
+    private int bound(char[] key, int keyLength, boolean upper, char[] buffer) {
+        // last block whose head is before the key
+        int lo = 0;
+        int hi = blocks.length - 1;
+        int block = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (isBefore(compare(buffer, decodeHead(mid, buffer), key, keyLength, upper), upper)) {
+                block = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (block < 0) {
+            return 0;
+        }
+        int id = block * BLOCK_SIZE;
+        int end = Math.min(id + BLOCK_SIZE, size);
+        int pos = blocks[block];
+        int length = varint(data, pos);
+        pos = copy(pos + varintLength(length), buffer, 0, length);
+        for (id++; id < end; id++) {
+            int shared = varint(data, pos);
+            pos += varintLength(shared);
+            int suffix = varint(data, pos);
+            pos += varintLength(suffix);
+            pos = copy(pos, buffer, shared, suffix);
+            length = shared + suffix;
+            if (!isBefore(compare(buffer, length, key, keyLength, upper), upper)) {
+                return id;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isBefore(int comparison, boolean upper) {
+        return upper ? comparison <= 0 : comparison < 0;
+    }
+
+    private int decodeHead(int block, char[] buffer) {
+        int pos = blocks[block];
+        int length = varint(data, pos);
+        copy(pos + varintLength(length), buffer, 0, length);
+        return length;
+    }
+
+    private int copy(int pos, char[] buffer, int at, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer[at + i] = (char) data[pos + i];
+        }
+        return pos + count;
+    }
+
+    /*
+     * Compares word with key; with `asPrefix`, a word starting with the key
+     * compares equal.
+     */
+    private static int compare(char[] word, int length, char[] key, int keyLength, boolean asPrefix) {
+        int max = Math.min(length, keyLength);
+        for (int i = 0; i < max; i++) {
+            if (word[i] != key[i]) {
+                return word[i] - key[i];
+            }
+        }
+        if (asPrefix && length >= keyLength) {
+            return 0;
+        }
+        return length - keyLength;
+    }
+
+    private static int writeVarint(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static int varint(byte[] data, int pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static int varintLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    /*
+     * Decodes the words one after the other, each from the one before, in
+     * the same buffer; only a move backwards or to another block restarts
+     * from a block head.
+     */
+    private final class Cursor extends WordCursor {
+
+        /*
+         * The current word, and the data offset of the next one; -1 before
+         * the first move.
+         */
+        private int id = -1;
+
+        private int next;
+
+        Cursor() {
+            super(FrontCodedWords.this);
+        }
+
+        @Override
+        int decode(int target, char[] letters) {
+            int length = length();
+            if (id < 0 || target <= id || target / BLOCK_SIZE != id / BLOCK_SIZE) {
+                int block = target / BLOCK_SIZE;
+                id = block * BLOCK_SIZE;
+                next = blocks[block];
+                length = varint(data, next);
+                next = copy(next + varintLength(length), letters, 0, length);
+            }
+            while (id < target) {
+                int shared = varint(data, next);
+                next += varintLength(shared);
+                int suffix = varint(data, next);
+                next += varintLength(suffix);
+                next = copy(next, letters, shared, suffix);
+                length = shared + suffix;
+                id++;
+            }
+            return length;
+        }
+
+    }
+
+}
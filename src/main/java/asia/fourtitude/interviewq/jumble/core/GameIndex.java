@@ -0,0 +1,470 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+/**
+ * The sub words of every word that can be the original of a game, i.e. of
+ * every word of one length, with one minimum sub-word length; computed
+ * once, so that creating a game costs the same however large the
+ * dictionary is.
+ *
+ * Each sub-word list is sorted IDs, packed as the gaps between consecutive
+ * IDs (the first ID as is), each gap a variable-length integer of 7 bits
+ * per byte, high bit set on all bytes but the last. A list of 20 sub words
+ * then mostly takes 20 to 40 bytes.
+ *
+ * Each original also has a difficulty level, 1 (easiest) to {@link #LEVELS}
+ * (hardest), from its number of sub words and how rare its letters are:
+ * the score is the rarity over log2(2 + sub words), so rare letters make a
+ * game harder and many sub words make it easier. Originals are ranked by
+ * score and split into levels of equal size, each a list of originals, so
+ * that picking one of a range of levels takes constant time.
+ *
+ * The rarity of a word is the mean, over its letters, of -log2 of the
+ * share of that letter among all letters of the dictionary; "e" scores
+ * about 3.4, "q" about 10.
+ *
+ * The build runs {@link #main} on "words.txt" (see pom.xml), producing
+ * "words.games" next to it; like a {@link DictionaryImage}, the file
+ * records the CRC-32 of the word list, and is only used while that still
+ * matches. Layout, all big-endian:
+ *
+ * <pre>
+ * int magic, int version, long word list CRC-32
+ * int length, int minLength, int dictionary size
+ * int[] original IDs, int[] rarity (in thousandths)
+ * int[] list offsets, byte[] packed lists
+ * </pre>
+ */
+public final class GameIndex {
+
+    public static final int DEFAULT_LENGTH = 6;
+
+    public static final int DEFAULT_MIN_LENGTH = 3;
+
+    public static final int LEVELS = 5;
+
+    private static final int MAGIC = 0x4A4D4247;
+
+    private static final int VERSION = 2;
+
+    private static final String EXTENSION = ".games";
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameIndex.class);
+
+    private final int length;
+
+    private final int minLength;
+
+    /*
+     * The size of the dictionary the IDs are of, to catch mismatches.
+     */
+    private final int dictionarySize;
+
+    private final int[] originals;
+
+    /*
+     * rarity of each original, in thousandths
+     */
+    private final int[] rarity;
+
+    private final int[] subWordCounts;
+
+    /*
+     * indexes into originals by level - 1
+     */
+    private final int[][] levels;
+
+    /*
+     * start of each original's list in packed, then the end of the last
+     */
+    private final int[] offsets;
+
+    private final byte[] packed;
+
+    private GameIndex(int length, int minLength, int dictionarySize, int[] originals, int[] rarity,
+            int[] offsets, byte[] packed) {
+        this.length = length;
+        this.minLength = minLength;
+        this.dictionarySize = dictionarySize;
+        this.originals = originals;
+        this.rarity = rarity;
+        this.offsets = offsets;
+        this.packed = packed;
+        this.subWordCounts = new int[originals.length];
+        for (int index = 0; index < originals.length; index++) {
+            subWordCounts[index] = count(packed, offsets[index], offsets[index + 1]);
+        }
+        this.levels = levels();
+    }
+
+    /*
+     * Ranks the originals by score, and cuts the ranking into LEVELS.
+     */
+    private int[][] levels() {
+        Integer[] ranking = new Integer[originals.length];
+        for (int index = 0; index < ranking.length; index++) {
+            ranking[index] = index;
+        }
+        Arrays.sort(ranking, Comparator.comparingDouble(this::score));
+        int[][] result = new int[LEVELS][];
+        for (int level = 0; level < LEVELS; level++) {
+            int from = (int) ((long) ranking.length * level / LEVELS);
+            int to = (int) ((long) ranking.length * (level + 1) / LEVELS);
+            result[level] = new int[to - from];
+            for (int i = from; i < to; i++) {
+                result[level][i - from] = ranking[i];
+            }
+            // by index, for level()
+            Arrays.sort(result[level]);
+        }
+        return result;
+    }
+
+    private double score(int index) {
+        return rarity[index] / (Math.log(2 + subWordCounts[index]) / Math.log(2));
+    }
+
+    /**
+     * Compiles the games of a word list.
+     *
+     * @param args  The word list file, the games file to write, and
+     *              optionally the length and minimum sub-word length
+     *              (default 6 and 3).
+     * @throws IOException  If failed to read or write.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 4) {
+            throw new IllegalArgumentException("Usage: GameIndex <word list> <games> [<length> <minLength>]");
+        }
+        Path source = Paths.get(args[0]);
+        Path target = Paths.get(args[1]);
+        int length = args.length == 4 ? Integer.parseInt(args[2]) : DEFAULT_LENGTH;
+        int minLength = args.length == 4 ? Integer.parseInt(args[3]) : DEFAULT_MIN_LENGTH;
+        byte[] text = Files.readAllBytes(source);
+        Dictionary dictionary = Dictionary.load(new ByteArrayInputStream(text));
+        long start = System.nanoTime();
+        GameIndex games = build(dictionary, length, minLength);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            games.write(DictionaryImage.checksum(text), out);
+        }
+        LOG.info("Compiled {} games ({} bytes) from {} into {} in {} ms", games.size(), games.packedBytes(),
+                source, target, millis);
+    }
+
+    /**
+     * Finds the sub words of every word of `length`, in parallel on the
+     * common fork/join pool.
+     *
+     * @param dictionary  The dictionary.
+     * @param length      The length of the originals.
+     * @param minLength   The minimum length of sub words, positive.
+     * @return  The games.
+     */
+    static GameIndex build(Dictionary dictionary, int length, int minLength) {
+        if (minLength < 1) {
+            throw new IllegalArgumentException("Invalid minLength=[" + minLength + "], expect positive integer");
+        }
+        int[] originals = dictionary.lengthIndex().bucket(length).clone();
+        double[] letterRarity = letterRarity(dictionary);
+        int[] rarity = new int[originals.length];
+        WordCursor cursor = dictionary.cursor();
+        for (int index = 0; index < originals.length; index++) {
+            CharSequence word = cursor.moveTo(originals[index]);
+            double sum = 0;
+            for (int i = 0; i < word.length(); i++) {
+                sum += letterRarity[word.charAt(i) - 'a'];
+            }
+            rarity[index] = (int) Math.round(1000 * sum / word.length());
+        }
+        byte[][] lists = IntStream.range(0, originals.length).parallel()
+                .mapToObj(i -> pack(dictionary.subWordIds(dictionary.word(originals[i]), minLength)))
+                .toArray(byte[][]::new);
+        int[] offsets = new int[originals.length + 1];
+        for (int i = 0; i < lists.length; i++) {
+            offsets[i + 1] = offsets[i] + lists[i].length;
+        }
+        byte[] packed = new byte[offsets[lists.length]];
+        for (int i = 0; i < lists.length; i++) {
+            System.arraycopy(lists[i], 0, packed, offsets[i], lists[i].length);
+        }
+        return new GameIndex(length, minLength, dictionary.size(), originals, rarity, offsets, packed);
+    }
+
+    /*
+     * -log2 of the share of each letter among all letters of all words.
+     */
+    static double[] letterRarity(Dictionary dictionary) {
+        long[] counts = new long[LetterCounts.LETTERS];
+        long total = 0;
+        WordCursor cursor = dictionary.cursor();
+        for (int id = 0; id < dictionary.size(); id++) {
+            CharSequence word = cursor.moveTo(id);
+            for (int i = 0; i < word.length(); i++) {
+                counts[word.charAt(i) - 'a']++;
+            }
+            total += word.length();
+        }
+        double[] rarity = new double[counts.length];
+        for (int letter = 0; letter < counts.length; letter++) {
+            // a letter never seen is as rare as one seen once
+            rarity[letter] = -Math.log(Math.max(counts[letter], 1) / (double) Math.max(total, 1)) / Math.log(2);
+        }
+        return rarity;
+    }
+
+    /**
+     * @param fileName  The word list resource name, e.g. "words.txt".
+     * @return  The games resource name, e.g. "words.games".
+     */
+    static String gamesName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        int slash = fileName.lastIndexOf('/');
+        return (dot > slash + 1 ? fileName.substring(0, dot) : fileName) + EXTENSION;
+    }
+
+    /**
+     * @param gamesName  The classpath resource name of the games.
+     * @param checksum   The CRC-32 of the word list the games must match.
+     * @return  The games, or null if there are no usable games.
+     */
+    static GameIndex fromClassPath(String gamesName, long checksum) {
+        ClassPathResource resource = new ClassPathResource(gamesName);
+        if (!resource.exists()) {
+            LOG.debug("No game index {}", gamesName);
+            return null;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            GameIndex games = read(ByteBuffer.wrap(StreamUtils.copyToByteArray(inputStream)), checksum);
+            if (games == null) {
+                LOG.warn("Game index {} is stale or of another version, creating games inline", gamesName);
+            }
+            return games;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Error read {}, creating games inline", gamesName, e);
+            return null;
+        }
+    }
+
+    void write(long checksum, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(checksum);
+        out.writeInt(length);
+        out.writeInt(minLength);
+        out.writeInt(dictionarySize);
+        DictionaryImage.writeInts(out, originals);
+        DictionaryImage.writeInts(out, rarity);
+        DictionaryImage.writeInts(out, offsets);
+        out.writeInt(packed.length);
+        out.write(packed);
+        out.flush();
+    }
+
+    /**
+     * @param in        The games file.
+     * @param checksum  The CRC-32 of the word list the games must match.
+     * @return  The games, or null if not for this word list or not of this
+     *          version.
+     * @throws BufferUnderflowException  If the file is truncated.
+     */
+    static GameIndex read(ByteBuffer in, long checksum) {
+        if (in.remaining() < 16 || in.getInt() != MAGIC || in.getInt() != VERSION || in.getLong() != checksum) {
+            return null;
+        }
+        int length = in.getInt();
+        int minLength = in.getInt();
+        int dictionarySize = in.getInt();
+        int[] originals = DictionaryImage.readInts(in);
+        int[] rarity = DictionaryImage.readInts(in);
+        int[] offsets = DictionaryImage.readInts(in);
+        int packedLength = in.getInt();
+        if (rarity.length != originals.length || offsets.length != originals.length + 1 || packedLength < 0 || packedLength > in.remaining()
+                || offsets[originals.length] != packedLength) {
+            throw new BufferUnderflowException();
+        }
+        byte[] packed = new byte[packedLength];
+        in.get(packed);
+        return new GameIndex(length, minLength, dictionarySize, originals, rarity, offsets, packed);
+    }
+
+    /*
+     * Sorted IDs as variable-length gaps.
+     */
+    static byte[] pack(int[] ids) {
+        byte[] bytes = new byte[5 * ids.length];
+        int size = 0;
+        int previous = 0;
+        for (int id : ids) {
+            int gap = id - previous;
+            previous = id;
+            while ((gap & ~0x7F) != 0) {
+                bytes[size++] = (byte) (gap | 0x80);
+                gap >>>= 7;
+            }
+            bytes[size++] = (byte) gap;
+        }
+        return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+    }
+
+    /*
+     * Undoes pack() on packed[from, to).
+     */
+    private static int[] unpack(byte[] packed, int from, int to) {
+        int[] ids = new int[count(packed, from, to)];
+        int id = 0;
+        int n = 0;
+        int i = from;
+        while (i < to) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = packed[i++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            id += gap;
+            ids[n++] = id;
+        }
+        return ids;
+    }
+
+    /*
+     * The number of IDs packed in packed[from, to): one last byte each.
+     */
+    private static int count(byte[] packed, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (packed[i] >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return  Whether these games are of `dictionary`'s IDs (as far as
+     *          can be told), for originals of `length` and sub words of at
+     *          least `minLength`.
+     */
+    boolean matches(Dictionary dictionary, int length, int minLength) {
+        return dictionarySize == dictionary.size() && this.length == length && this.minLength == minLength;
+    }
+
+    /**
+     * @return  The number of originals.
+     */
+    int size() {
+        return originals.length;
+    }
+
+    int length() {
+        return length;
+    }
+
+    int minLength() {
+        return minLength;
+    }
+
+    /**
+     * @param index  0 (inclusive) to {@link #size()} (exclusive).
+     * @return  The word ID of the original.
+     */
+    int original(int index) {
+        return originals[index];
+    }
+
+    /**
+     * @param index  0 (inclusive) to {@link #size()} (exclusive).
+     * @return  Sorted IDs of the sub words of the original, not including
+     *          the original itself.
+     */
+    int[] subWordIds(int index) {
+        return unpack(packed, offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * @param index  0 (inclusive) to {@link #size()} (exclusive).
+     * @return  The number of sub words of the original.
+     */
+    int subWordCount(int index) {
+        return subWordCounts[index];
+    }
+
+    /**
+     * @param index  0 (inclusive) to {@link #size()} (exclusive).
+     * @return  The rarity of the letters of the original.
+     */
+    double rarity(int index) {
+        return rarity[index] / 1000.0;
+    }
+
+    /**
+     * @param index  0 (inclusive) to {@link #size()} (exclusive).
+     * @return  The difficulty level of the original, 1 to {@link #LEVELS}.
+     */
+    int level(int index) {
+        for (int level = 0; level < LEVELS; level++) {
+            if (Arrays.binarySearch(levels[level], index) >= 0) {
+                return level + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Picks an original at random, all originals of the levels equally
+     * likely.
+     *
+     * @param minLevel  The lowest level, 1 or more.
+     * @param maxLevel  The highest level, at most {@link #LEVELS}.
+     * @return  The index of the original, or -1 if none.
+     */
+    int pickRandom(int minLevel, int maxLevel) {
+        int total = 0;
+        for (int level = minLevel; level <= maxLevel; level++) {
+            total += levels[level - 1].length;
+        }
+        if (total == 0) {
+            return -1;
+        }
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (int level = minLevel; ; level++) {
+            int[] bucket = levels[level - 1];
+            if (pick < bucket.length) {
+                return bucket[pick];
+            }
+            pick -= bucket.length;
+        }
+    }
+
+    /**
+     * @return  The size of the packed lists, in bytes.
+     */
+    int packedBytes() {
+        return packed.length;
+    }
+
+}
@@ -1,24 +1,66 @@
 package asia.fourtitude.interviewq.jumble.core;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.TreeSet;
 
+/**
+ * A game: the word to guess, its scrambled letters, and its sub words with
+ * which of them are guessed.
+ *
+ * The sub words are kept as the sorted view the engine returns (over word
+ * IDs of the dictionary), with the guessed ones as a bit set over their
+ * positions, so a game costs a few bytes per sub word rather than a map
+ * entry each.
+ */
 public /*record*/ class GameState {
 
     private final String original;
 
     private String scramble;
 
-    private final Map<String, Boolean> subWords;
+    /*
+     * sorted, without duplicates
+     */
+    private final List<String> words;
+
+    /*
+     * positions in `words` of the guessed words
+     */
+    private final BitSet guessed;
+
+    private final Map<String, Boolean> subWords = new SubWordMap();
+
+    /*
+     * 1 (easiest) to GameIndex.LEVELS, or 0 if not known
+     */
+    private int difficulty;
 
     public GameState(String original, String scramble, Map<String, Boolean> subWords) {
+        this(original, scramble, new ArrayList<>(new TreeMap<>(subWords).keySet()));
+        for (int index = 0; index < words.size(); index++) {
+            guessed.set(index, subWords.get(words.get(index)) == Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @param subWords  The sub words, sorted, without duplicates; not
+     *                  copied, none guessed yet.
+     */
+    GameState(String original, String scramble, List<String> subWords) {
         this.original = original;
         this.scramble = scramble;
-        this.subWords = subWords;
+        this.words = subWords;
+        this.guessed = new BitSet(subWords.size());
     }
 
     public String getOriginal() {
@@ -33,6 +75,22 @@ public /*record*/ class GameState {
         this.scramble = scramble;
     }
 
+    /**
+     * @return  The difficulty level, 1 (easiest) to 5 (hardest); 0 if not
+     *          known, i.e. the game was not made from precomputed games.
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(int difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * @return  Unmodifiable view of the sub words, sorted, each mapped to
+     *          whether it is guessed.
+     */
     public Map<String, Boolean> getSubWords() {
         return subWords;
     }
@@ -45,38 +103,76 @@ public /*record*/ class GameState {
         return String.join(" ", list);
     }
 
+    /**
+     * @return  The guessed words, by length, then alphabetically.
+     */
     public List<String> getGuessedWords() {
-        Map<Integer, Set<String>> guesseds = new TreeMap<>();
-        for (Map.Entry<String, Boolean> entry : this.subWords.entrySet()) {
-            if (entry.getValue() == Boolean.TRUE) {
-                String word = entry.getKey();
-                Integer len = word.length();
-                Set<String> words = guesseds.get(len);
-                if (words == null) {
-                    words = new TreeSet<>();
-                    guesseds.put(len, words);
+        List<String> list = new ArrayList<>(guessed.cardinality());
+        for (int index = guessed.nextSetBit(0); index >= 0; index = guessed.nextSetBit(index + 1)) {
+            list.add(words.get(index));
+        }
+        // stable, so words of one length stay sorted
+        list.sort(Comparator.comparingInt(String::length));
+        return list;
+    }
+
+    public boolean updateGuessWord(String word) {
+        int index = indexOf(word);
+        if (index < 0) {
+            return false;
+        }
+        guessed.set(index);
+        return true;
+    }
+
+    /**
+     * Finds the sub words not guessed yet closest to `word`, for "did you
+     * mean" after an incorrect guess; case insensitive.
+     *
+     * @param word         The incorrect guess.
+     * @param maxDistance  The most letters inserted, deleted or replaced.
+     * @param limit        The most words to return.
+     * @return  The closest words, by distance, then alphabetically; empty
+     *          if `word` is not 'a' to 'z' only.
+     */
+    public List<String> suggestions(String word, int maxDistance, int limit) {
+        String normalized = Dictionary.normalize(word);
+        if (normalized == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        // a game has a few dozen sub words, so each is just compared
+        List<List<String>> byDistance = new ArrayList<>();
+        for (int index = guessed.nextClearBit(0); index < words.size(); index = guessed.nextClearBit(index + 1)) {
+            String candidate = words.get(index);
+            if (Math.abs(candidate.length() - normalized.length()) > maxDistance) {
+                continue;
+            }
+            int distance = LevenshteinSearch.distance(normalized, candidate);
+            if (distance > 0 && distance <= maxDistance) {
+                while (byDistance.size() <= distance) {
+                    byDistance.add(new ArrayList<>());
                 }
-                words.add(word);
+                byDistance.get(distance).add(candidate);
             }
         }
-        List<String> words = new ArrayList<>();
-        for (Map.Entry<Integer, Set<String>> entry : guesseds.entrySet()) {
-            for (String word : entry.getValue()) {
-                words.add(word);
+        List<String> list = new ArrayList<>();
+        for (List<String> candidates : byDistance) {
+            for (String candidate : candidates) {
+                if (list.size() == limit) {
+                    return list;
+                }
+                list.add(candidate);
             }
         }
-        return words;
+        return list;
     }
 
-    public boolean updateGuessWord(String word) {
-        if (word == null) {
-            return false;
-        }
-        if (this.subWords.containsKey(word)) {
-            this.subWords.put(word, Boolean.TRUE);
-            return true;
+    private int indexOf(Object word) {
+        if (!(word instanceof String)) {
+            return -1;
         }
-        return false;
+        int index = Collections.binarySearch(words, (String) word);
+        return index < 0 ? -1 : index;
     }
 
     @Override
@@ -94,4 +190,61 @@ public /*record*/ class GameState {
         return sb.toString();
     }
 
+    private final class SubWordMap extends AbstractMap<String, Boolean> {
+
+        @Override
+        public int size() {
+            return words.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Boolean get(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : guessed.get(index);
+        }
+
+        @Override
+        public Set<Map.Entry<String, Boolean>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Boolean>>() {
+
+                @Override
+                public int size() {
+                    return words.size();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Boolean>> iterator() {
+                    return new Iterator<Map.Entry<String, Boolean>>() {
+
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < words.size();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Boolean> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Map.Entry<String, Boolean> entry = new SimpleImmutableEntry<>(
+                                    words.get(index), guessed.get(index));
+                            index++;
+                            return entry;
+                        }
+
+                    };
+                }
+
+            };
+        }
+
+    }
+
 }
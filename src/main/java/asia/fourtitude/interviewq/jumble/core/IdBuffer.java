@@ -0,0 +1,56 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of word IDs, used to collect results without boxing.
+ */
+final class IdBuffer {
+
+    private int[] ids;
+
+    private int size;
+
+    IdBuffer() {
+        this(16);
+    }
+
+    IdBuffer(int capacity) {
+        this.ids = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    void addAll(int[] source, int from, int to) {
+        int count = to - from;
+        if (size + count > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(size + count, size * 2));
+        }
+        System.arraycopy(source, from, ids, size, count);
+        size += count;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    void sort() {
+        Arrays.sort(ids, 0, size);
+    }
+
+    int[] toSortedArray() {
+        int[] sorted = toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+}
@@ -0,0 +1,54 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the word IDs [0, size) into ranges, for building an index in
+ * parallel: each range is scanned on its own, on the common
+ * {@link ForkJoinPool}, into partial results (counts, ID lists), which are
+ * merged in range order. The index is then the same as from one scan.
+ */
+final class IdRanges {
+
+    /*
+     * Ranges are at least this many words, so small dictionaries are one
+     * range.
+     */
+    static final int MIN_RANGE = 1 << 14;
+
+    /*
+     * Ranges per worker thread, so that uneven ranges still balance.
+     */
+    private static final int RANGES_PER_THREAD = 4;
+
+    private IdRanges() {
+    }
+
+    /**
+     * @param size  The number of words.
+     * @return  The number of ranges to split them into, at least 1.
+     */
+    static int count(int size) {
+        long ranges = Math.min((size + MIN_RANGE - 1L) / MIN_RANGE,
+                (long) RANGES_PER_THREAD * ForkJoinPool.getCommonPoolParallelism());
+        return (int) Math.max(ranges, 1);
+    }
+
+    /**
+     * @return  The first ID of range `range` of `ranges`; with `range` ==
+     *          `ranges`, `size`.
+     */
+    static int from(int range, int ranges, int size) {
+        return (int) ((long) size * range / ranges);
+    }
+
+    /**
+     * Runs `action` for each range, 0 to `ranges` (exclusive), in parallel.
+     */
+    static void forEach(int ranges, IntConsumer action) {
+        IntStream.range(0, ranges).parallel().forEach(action);
+    }
+
+}
@@ -1,31 +1,86 @@
 package asia.fourtitude.interviewq.jumble.core;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.ClassPathResource;
 
 public class JumbleEngine {
 
-    private static final String FILE_NAME = "words.txt";
-    
     Logger logger = LoggerFactory.getLogger(JumbleEngine.class);
 
+    /*
+     * The current word list. Each operation takes one snapshot from it and
+     * uses only that, so a reload never shows it a half-built index.
+     */
+    private final Supplier<Dictionary> dictionary;
+
+    /*
+     * Sub-word results by letters, or null for none.
+     */
+    private final SubWordCache subWordCache;
+
+    /**
+     * Creates engine using the shared default dictionary
+     * (classpath "words.txt").
+     */
+    public JumbleEngine() {
+        this(Dictionary.getDefault());
+    }
+
+    public JumbleEngine(Dictionary dictionary) {
+        this(requireDictionary(dictionary), null);
+    }
+
+    /**
+     * Creates engine using whatever dictionary `dictionary` currently
+     * supplies, e.g. from a {@link DictionaryWatcher}.
+     *
+     * @param dictionary  Supplies the current dictionary, never null.
+     */
+    public JumbleEngine(Supplier<Dictionary> dictionary) {
+        this(dictionary, null);
+    }
+
+    /**
+     * Same as {@link #JumbleEngine(Supplier)}, remembering sub words found
+     * in `subWordCache`.
+     *
+     * @param dictionary    Supplies the current dictionary, never null.
+     * @param subWordCache  The cache of sub words, or null for none.
+     */
+    public JumbleEngine(Supplier<Dictionary> dictionary, SubWordCache subWordCache) {
+        this.dictionary = Objects.requireNonNull(dictionary, "dictionary must not be null");
+        this.subWordCache = subWordCache;
+    }
+
+    private static Supplier<Dictionary> requireDictionary(Dictionary dictionary) {
+        Objects.requireNonNull(dictionary, "dictionary must not be null");
+        return () -> dictionary;
+    }
+
+    /**
+     * @return  The current dictionary snapshot.
+     */
+    public Dictionary getDictionary() {
+        return dictionary.get();
+    }
+
+    /**
+     * @return  The cache of sub words, or null if none.
+     */
+    public SubWordCache getSubWordCache() {
+        return subWordCache;
+    }
+
     /**
      * From the input `word`, produces/generates a copy which has the same
      * letters, but in different ordering.
@@ -69,35 +124,7 @@ public class JumbleEngine {
      * @see https://www.google.com/search?q=palindrome+meaning
      */
     public Collection<String> retrievePalindromeWords() {
-        List<String> palindromeWords = new ArrayList<>();
-
-        try(InputStream inputStream = new ClassPathResource(FILE_NAME).getInputStream();
-                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream)) ) {
-
-            Stream<String> wordReader = reader.lines();  
-
-            palindromeWords = wordReader.filter(word -> {
-
-                if(word.length() < 2) 
-                    return false;
-
-                int midlePoint = word.length() / 2;
-
-                StringBuilder sb = new StringBuilder(word.substring(midlePoint));
-
-                String leftWord = word.length() % 2 != 0 ? word.substring(0, midlePoint + 1)
-                        : word.substring(0, midlePoint);
-
-                return leftWord.equals(sb.reverse().toString());
-
-            }).collect(Collectors.toList());
-
-
-        } catch (IOException e) {
-            logger.error("Error read words.txt");
-        }
-
-        return palindromeWords;
+        return dictionary.get().palindromes();
     }
 
     /**
@@ -113,29 +140,10 @@ public class JumbleEngine {
      *          Or null if none matching.
      */
     public String pickOneRandomWord(Integer length) {
-        String randomWords = null;
-
         if(length == null)
             return StringUtils.EMPTY;
 
-        try(InputStream inputStream = new ClassPathResource(FILE_NAME).getInputStream();
-                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream)) ) {
-
-            Stream<String> wordReader = reader.lines();  
-
-            List<String> wordMatchLength = wordReader.filter(word -> word.length() == length)
-                    .collect(Collectors.toList());
-
-            if(!wordMatchLength.isEmpty()) {
-                int randomIndex = (int) Math.round(Math.random() * (wordMatchLength.size() - 1));
-
-                randomWords = wordMatchLength.get(randomIndex);
-            }
-        } catch (IOException e) {
-            logger.error("Error read words.txt");
-        }
-
-        return randomWords;
+        return dictionary.get().randomWord(length);
     }
 
     /**
@@ -151,22 +159,27 @@ public class JumbleEngine {
      * @return  true if `word` exists in internal word list.
      */
     public boolean exists(String word) {
-        boolean found = false;
-
-        try(InputStream inputStream = new ClassPathResource(FILE_NAME).getInputStream();
-                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream)) ) {
-
-            Stream<String> wordReader = reader.lines();  
-
-            found = StringUtils.isNotBlank(wordReader.filter(searchWord -> searchWord.equalsIgnoreCase(word))
-                    .findFirst()
-                    .orElse(null));
+        return dictionary.get().contains(word);
+    }
 
-        } catch (IOException e) {
-            logger.error("Error read words.txt");
-        }
+    /**
+     * Finds the words closest to `word` ("did you mean"), for when it does
+     * not exist. Matching is case insensitive.
+     *
+     * Each call does bounded work, however large the word list.
+     *
+     * @param word         The word, e.g. a misspelling.
+     * @param maxDistance  The most letters inserted, deleted or replaced.
+     * @param limit        The most words to return.
+     * @return  The closest words, by distance, then alphabetically; never
+     *          `word` itself.
+     */
+    public List<String> suggest(String word, int maxDistance, int limit) {
+        if(StringUtils.isBlank(word))
+            return Collections.emptyList();
 
-        return found;
+        Dictionary snapshot = dictionary.get();
+        return snapshot.wordsOf(snapshot.suggestionIds(word, maxDistance, limit));
     }
 
     /**
@@ -186,24 +199,77 @@ public class JumbleEngine {
      * @return  The list of words matching the prefix.
      */
     public Collection<String> wordsMatchingPrefix(String prefix) {
-        List<String> wordsMatchingPrefix = new ArrayList<>();
+        return wordsMatchingPrefix(prefix, Integer.MAX_VALUE);
+    }
 
-        if(StringUtils.isBlank(prefix) || !prefix.matches("[a-zA-Z]*")) 
-            return wordsMatchingPrefix; 
+    /**
+     * Same as {@link #wordsMatchingPrefix(String)}, but stops after `limit`
+     * words.
+     *
+     * @param prefix  The prefix to match.
+     * @param limit   The maximum number of words to return.
+     * @return  The list of words matching the prefix, sorted.
+     */
+    public Collection<String> wordsMatchingPrefix(String prefix, int limit) {
+        if(StringUtils.isBlank(prefix))
+            return Collections.emptyList();
 
-        try(InputStream inputStream = new ClassPathResource(FILE_NAME).getInputStream();
-                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream)) ) {
+        return dictionary.get().wordsWithPrefix(prefix, limit);
+    }
 
-            Stream<String> wordReader = reader.lines();  
+    /**
+     * Same as {@link #wordsMatchingPrefix(String)}, one page at a time.
+     *
+     * @param prefix  The prefix to match.
+     * @param cursor  The {@link WordPage#getNextCursor()} of the previous
+     *                page, or null for the first page.
+     * @param limit   The most words in the page.
+     * @return  The page of words, sorted.
+     */
+    public WordPage wordsMatchingPrefix(String prefix, String cursor, int limit) {
+        return WordPage.first(iterateWordsMatchingPrefix(prefix, cursor), limit);
+    }
 
-            wordsMatchingPrefix = wordReader.filter(word -> word.toLowerCase().startsWith(prefix.toLowerCase()          
-            )).collect(Collectors.toList());
+    /**
+     * Same as {@link #wordsMatchingPrefix(String)}, but finds the words one
+     * at a time, as iterated, from one dictionary snapshot; so in constant
+     * memory, however many words match.
+     *
+     * @param prefix  The prefix to match.
+     * @param cursor  The word to start after, or null to start from the
+     *                first.
+     * @return  The words matching the prefix, sorted.
+     */
+    public Iterator<String> iterateWordsMatchingPrefix(String prefix, String cursor) {
+        if(StringUtils.isBlank(prefix))
+            return Collections.emptyIterator();
 
-        } catch (IOException e) {
-            logger.error("Error read words.txt");
-        }
+        Dictionary snapshot = dictionary.get();
+        return snapshot.wordsOf(snapshot.prefixIds(prefix, cursor));
+    }
 
-        return wordsMatchingPrefix;
+    /**
+     * Finds the words matching a crossword-style `pattern`, where '?' (or
+     * '.') is any one letter and '*' is any letters, none included.
+     * Matching is case insensitive.
+     *
+     * Example: "a?p??e" gives "alpine", "ampere"... and "un*able" gives
+     * "unable", "unacceptable"...
+     *
+     * Letters before the first wildcard are looked up in the prefix
+     * trie, and only the words below it are walked.
+     *
+     * @param pattern  The pattern to match.
+     * @param limit    The maximum number of words to return.
+     * @return  The list of words matching the pattern, sorted; empty if
+     *          the pattern has anything other than letters and wildcards.
+     */
+    public Collection<String> wordsMatchingPattern(String pattern, int limit) {
+        if(StringUtils.isBlank(pattern))
+            return Collections.emptyList();
+
+        Dictionary snapshot = dictionary.get();
+        return snapshot.wordsOf(snapshot.patternIds(pattern, limit));
     }
 
     /**
@@ -231,37 +297,41 @@ public class JumbleEngine {
      * @return  The list of words matching the searching criteria.
      */
     public Collection<String> searchWords(Character startChar, Character endChar, Integer length) {
-        List<String> wordsList = new ArrayList<>();
-
         if(startChar == null && endChar == null && length == null)
-            return wordsList;
-
-        if((startChar != null && !Character.isLetter(startChar)) ||
-                (endChar != null && !Character.isLetter(endChar)) ||
-                (length != null && length < 1))
-            return wordsList; 
-
-        try(InputStream inputStream = new ClassPathResource(FILE_NAME).getInputStream();
-                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream)) ) {
-
-            Stream<String> wordReader = reader.lines();  
+            return Collections.emptyList();
 
-            if(startChar != null)
-                wordReader = wordReader.filter(word -> word.toLowerCase().startsWith(startChar.toString().toLowerCase()));
-
-            if(endChar != null)
-                wordReader = wordReader.filter(word -> word.toLowerCase().endsWith(endChar.toString().toLowerCase()));
-
-            if(length != null)
-                wordReader = wordReader.filter(word -> word.length() == length);
+        Dictionary snapshot = dictionary.get();
+        return snapshot.wordsOf(snapshot.searchIds(startChar, endChar, length));
+    }
 
-            wordsList = wordReader.collect(Collectors.toList());
+    /**
+     * Same as {@link #searchWords(Character, Character, Integer)}, one page
+     * at a time.
+     *
+     * @param cursor  The {@link WordPage#getNextCursor()} of the previous
+     *                page, or null for the first page.
+     * @param limit   The most words in the page.
+     * @return  The page of words, sorted.
+     */
+    public WordPage searchWords(Character startChar, Character endChar, Integer length, String cursor, int limit) {
+        return WordPage.first(iterateSearchWords(startChar, endChar, length, cursor), limit);
+    }
 
-        } catch (IOException e) {
-            logger.error("Error read words.txt");
-        }
+    /**
+     * Same as {@link #searchWords(Character, Character, Integer)}, but finds
+     * the words one at a time, as iterated, from one dictionary snapshot;
+     * so in constant memory, however many words match.
+     *
+     * @param cursor  The word to start after, or null to start from the
+     *                first.
+     * @return  The words matching the criteria, sorted.
+     */
+    public Iterator<String> iterateSearchWords(Character startChar, Character endChar, Integer length, String cursor) {
+        if(startChar == null && endChar == null && length == null)
+            return Collections.emptyIterator();
 
-        return wordsList;
+        Dictionary snapshot = dictionary.get();
+        return snapshot.wordsOf(snapshot.searchIds(startChar, endChar, length, cursor));
     }
 
     /**
@@ -288,46 +358,104 @@ public class JumbleEngine {
      * @return  The list of sub words constructed from input `word`.
      */
     public Collection<String> generateSubWords(String word, Integer minLength) {
-        List<String> wordsList = new ArrayList<>();
-        
         final int length = minLength != null ? minLength : 3;
 
         if(StringUtils.isBlank(word) || word.length() < length || length < 1)
-            return wordsList;
-
-        try(InputStream inputStream = new ClassPathResource(FILE_NAME).getInputStream();
-                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream)) ) {
+            return Collections.emptyList();
 
-            Stream<String> wordReader = reader.lines();  
+        Dictionary snapshot = dictionary.get();
+        return snapshot.wordsOf(subWordIds(snapshot, word, length));
+    }
 
-            wordsList = wordReader.filter(searchWord -> {
+    /**
+     * Finds the words using exactly the letters of `letters`, each as many
+     * times; e.g. from "aelst": least, slate, stale, steal, tales, teals.
+     * Matching is case insensitive.
+     *
+     * One signature lookup, in O(letters), however large the word list.
+     *
+     * @param letters  The letters, in any order.
+     * @return  The list of anagrams, sorted; `letters` itself too, if a
+     *          word.
+     */
+    public Collection<String> unscramble(String letters) {
+        if(StringUtils.isBlank(letters))
+            return Collections.emptyList();
 
-                if(searchWord.length() < length || searchWord.equalsIgnoreCase(word))
-                    return false;
+        Dictionary snapshot = dictionary.get();
+        return snapshot.wordsOf(snapshot.anagramIds(letters));
+    }
 
-                StringBuilder wordCopy = new StringBuilder(word);
+    /**
+     * Lists the groups of words of `length` that are anagrams of each
+     * other, e.g. [least, slate, stale, steal, tales, teals]; words having
+     * no anagram are left out.
+     *
+     * @param length  The word length.
+     * @param limit   The maximum number of groups to return.
+     * @return  The groups, each sorted, ordered by their first word.
+     */
+    public List<List<String>> anagramGroups(int length, int limit) {
+        Dictionary snapshot = dictionary.get();
+        List<List<String>> groups = new ArrayList<>();
+        for (int[] ids : snapshot.anagramGroupIds(length, limit)) {
+            groups.add(snapshot.wordsOf(ids));
+        }
+        return groups;
+    }
 
-                List<String> searchCharacterList = Arrays.asList(searchWord.split(StringUtils.EMPTY));
+    /**
+     * Finds the phrases whose words together use exactly the letters of
+     * `letters`, each as many times; e.g. from "dormitory": [dirty, room],
+     * [dormitory]... Matching is case insensitive, spaces are ignored.
+     *
+     * The search is pruned by the letters left, skips letter states known
+     * to lead nowhere, and runs each first word in parallel.
+     *
+     * @param letters    The letters, in any order, at most 30.
+     * @param minLength  The minimum length of each word.
+     *                   Expects positive integer.
+     *                   Default is 3.
+     * @param maxWords   The most words in a phrase.
+     * @param limit      The maximum number of phrases to return.
+     * @return  The phrases, each longest word first.
+     */
+    public List<List<String>> anagramPhrases(String letters, Integer minLength, int maxWords, int limit) {
+        final int length = minLength != null ? minLength : 3;
 
-                boolean isMatch = true;
-                for(String searchCharacter: searchCharacterList) {
-                    int findIndex = wordCopy.indexOf(searchCharacter);
-                    
-                    if(findIndex == -1) {
-                        isMatch = false;
-                        break;
-                    }
+        if(StringUtils.isBlank(letters) || length < 1)
+            return Collections.emptyList();
 
-                    wordCopy.deleteCharAt(findIndex);
-                }
-                
-                return isMatch;
-            }).collect(Collectors.toList());
-        } catch (IOException e) {
-            logger.error("Error read words.txt");
+        Dictionary snapshot = dictionary.get();
+        List<List<String>> phrases = new ArrayList<>();
+        for (int[] ids : snapshot.phraseIds(letters, length, maxWords, limit)) {
+            List<String> phrase = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                phrase.add(snapshot.word(id));
+            }
+            phrases.add(phrase);
         }
+        return phrases;
+    }
 
-        return wordsList;
+    /**
+     * Finds the `limit` highest-scoring words playable from a Scrabble
+     * rack, by tile values, each tile used at most once. A '?' (or '.')
+     * tile is a blank: it stands for any letter, and scores 0.
+     * Matching is case insensitive.
+     *
+     * Example: from "qiz?": quiz (21), biz (11), zip (11)...
+     *
+     * @param rack   The tiles, at most 15.
+     * @param limit  The maximum number of words to return.
+     * @return  The best words, by score, then alphabetically; empty if
+     *          the rack has anything other than letters and blanks.
+     */
+    public List<RackWord> solveRack(String rack, int limit) {
+        if(StringUtils.isBlank(rack))
+            return Collections.emptyList();
+
+        return dictionary.get().rackWords(rack, limit);
     }
 
     /**
@@ -345,6 +473,60 @@ public class JumbleEngine {
      * @return  The game state.
      */
     public GameState createGameState(Integer length, Integer minLength) {
+        minLength = checkGameLengths(length, minLength);
+        Dictionary snapshot = dictionary.get();
+        GameIndex games = snapshot.gameIndex(length, minLength);
+        if (games != null && games.size() > 0) {
+            return createGameState(snapshot, games, games.pickRandom(1, GameIndex.LEVELS));
+        }
+        String original = snapshot.randomWord(length);
+        if (original == null) {
+            throw new IllegalArgumentException("Cannot find valid word to create game state");
+        }
+        String scramble = this.scramble(original);
+        return new GameState(original, scramble, snapshot.wordsOf(subWordIds(snapshot, original, minLength)));
+    }
+
+    /**
+     * Same as {@link #createGameState(Integer, Integer)}, picking the word
+     * among those of the difficulty levels `minDifficulty` to
+     * `maxDifficulty` (see {@link GameIndex}), in constant time.
+     *
+     * The games of `length` and `minLength` are precomputed on first use,
+     * if the dictionary does not have them yet.
+     *
+     * @param length         The length of selected word.
+     *                       Expects >= 3.
+     * @param minLength      The minimum length (inclusive) of sub words.
+     *                       Expects positive integer.
+     *                       Default is 3.
+     * @param minDifficulty  The lowest difficulty level, 1 (easiest) to 5.
+     * @param maxDifficulty  The highest difficulty level, `minDifficulty`
+     *                       to 5 (hardest).
+     * @return  The game state.
+     */
+    public GameState createGameState(Integer length, Integer minLength, int minDifficulty, int maxDifficulty) {
+        minLength = checkGameLengths(length, minLength);
+        if (minDifficulty < 1 || maxDifficulty > GameIndex.LEVELS || minDifficulty > maxDifficulty) {
+            throw new IllegalArgumentException("Invalid difficulty=[" + minDifficulty + ", " + maxDifficulty
+                    + "], expect 1 <= min <= max <= " + GameIndex.LEVELS);
+        }
+        Dictionary snapshot = dictionary.get();
+        GameIndex games = snapshot.gameIndex(length, minLength);
+        if (games == null) {
+            games = snapshot.precomputedGames(length, minLength);
+        }
+        int index = games.pickRandom(minDifficulty, maxDifficulty);
+        if (index < 0) {
+            throw new IllegalArgumentException("Cannot find valid word to create game state");
+        }
+        return createGameState(snapshot, games, index);
+    }
+
+    /*
+     * @return  minLength, defaulted.
+     */
+    private static int checkGameLengths(Integer length, Integer minLength) {
         Objects.requireNonNull(length, "length must not be null");
         if (minLength == null) {
             minLength = 3;
@@ -357,16 +539,21 @@ public class JumbleEngine {
         if (minLength > length) {
             throw new IllegalArgumentException("Expect minLength=[" + minLength + "] greater than length=[" + length + "]");
         }
-        String original = this.pickOneRandomWord(length);
-        if (original == null) {
-            throw new IllegalArgumentException("Cannot find valid word to create game state");
-        }
-        String scramble = this.scramble(original);
-        Map<String, Boolean> subWords = new TreeMap<>();
-        for (String subWord : this.generateSubWords(original, minLength)) {
-            subWords.put(subWord, Boolean.FALSE);
+        return minLength;
+    }
+
+    private GameState createGameState(Dictionary snapshot, GameIndex games, int index) {
+        String original = snapshot.word(games.original(index));
+        GameState state = new GameState(original, this.scramble(original), snapshot.wordsOf(games.subWordIds(index)));
+        state.setDifficulty(games.level(index));
+        return state;
+    }
+
+    private int[] subWordIds(Dictionary snapshot, String word, int minLength) {
+        if (subWordCache == null) {
+            return snapshot.subWordIds(word, minLength);
         }
-        return new GameState(original, scramble, subWords);
+        return subWordCache.subWordIds(snapshot, word, minLength);
     }
 
 }
@@ -0,0 +1,53 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A value computed on first use, exactly once, then shared by all threads.
+ *
+ * Threads asking while the value is being computed wait for it, and never
+ * see a partly built value.
+ */
+final class Lazy<T> implements Supplier<T> {
+
+    private Supplier<? extends T> factory;
+
+    private volatile T value;
+
+    Lazy(Supplier<? extends T> factory) {
+        this.factory = Objects.requireNonNull(factory, "factory must not be null");
+    }
+
+    /**
+     * @return  A lazy whose value is already known.
+     */
+    static <T> Lazy<T> of(T value) {
+        Lazy<T> lazy = new Lazy<>(() -> value);
+        lazy.value = Objects.requireNonNull(value, "value must not be null");
+        lazy.factory = null;
+        return lazy;
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = Objects.requireNonNull(factory.get(), "factory returned null");
+                    value = result;
+                    // let go of whatever the factory holds on to
+                    factory = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    boolean isComputed() {
+        return value != null;
+    }
+
+}
@@ -0,0 +1,114 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Word IDs bucketed by word length, built once.
+ *
+ * Each bucket is a sorted `int[]` of word IDs, so picking a random word of a
+ * given length is one array read, and uses {@link ThreadLocalRandom} to
+ * avoid contention between request threads.
+ */
+final class LengthIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    /*
+     * buckets[length] = IDs of words with that length.
+     */
+    private final int[][] buckets;
+
+    /**
+     * Counts the lengths of each {@link IdRanges} range in parallel, then
+     * fills each range's slots of the buckets in parallel.
+     *
+     * @param words  The words, in ID order.
+     */
+    LengthIndex(WordStorage words) {
+        int size = words.size();
+        int maxLength = words.maxLength();
+        int[] lengths = new int[size];
+        int ranges = IdRanges.count(size);
+        // counts[range][length], then the range's first slot in buckets[length]
+        int[][] counts = new int[ranges][maxLength + 1];
+        IdRanges.forEach(ranges, range -> {
+            WordCursor cursor = words.cursor();
+            int[] rangeCounts = counts[range];
+            for (int id = IdRanges.from(range, ranges, size), to = IdRanges.from(range + 1, ranges, size);
+                    id < to; id++) {
+                int length = cursor.moveTo(id).length();
+                lengths[id] = length;
+                rangeCounts[length]++;
+            }
+        });
+        this.buckets = new int[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            int slot = 0;
+            for (int[] rangeCounts : counts) {
+                int count = rangeCounts[length];
+                rangeCounts[length] = slot;
+                slot += count;
+            }
+            buckets[length] = slot == 0 ? EMPTY : new int[slot];
+        }
+        IdRanges.forEach(ranges, range -> {
+            int[] slots = counts[range];
+            for (int id = IdRanges.from(range, ranges, size), to = IdRanges.from(range + 1, ranges, size);
+                    id < to; id++) {
+                int length = lengths[id];
+                buckets[length][slots[length]++] = id;
+            }
+        });
+    }
+
+    private LengthIndex(int[][] buckets) {
+        this.buckets = buckets;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(buckets.length);
+        for (int[] bucket : buckets) {
+            DictionaryImage.writeInts(out, bucket);
+        }
+    }
+
+    static LengthIndex read(ByteBuffer in) {
+        int[][] buckets = new int[in.getInt()][];
+        for (int length = 0; length < buckets.length; length++) {
+            int[] bucket = DictionaryImage.readInts(in);
+            buckets[length] = bucket.length == 0 ? EMPTY : bucket;
+        }
+        return new LengthIndex(buckets);
+    }
+
+    /**
+     * @return  The longest word length.
+     */
+    int maxLength() {
+        return buckets.length - 1;
+    }
+
+    /**
+     * @param length  The word length.
+     * @return  Sorted IDs of words of that length; shared, do not modify.
+     */
+    int[] bucket(int length) {
+        return length >= 0 && length < buckets.length ? buckets[length] : EMPTY;
+    }
+
+    /**
+     * @param length  The word length.
+     * @return  ID of a random word of that length, or -1 if none.
+     */
+    int pickRandom(int length) {
+        int[] bucket = bucket(length);
+        if (bucket.length == 0) {
+            return -1;
+        }
+        return bucket[ThreadLocalRandom.current().nextInt(bucket.length)];
+    }
+
+}
@@ -0,0 +1,373 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Letter-count vectors of words, packed into two `long`s.
+ *
+ * The count of each letter 'a' to 'z' takes a 4-bit lane: 'a' to 'm' in the
+ * low long, 'n' to 'z' in the high long. The packed pair is exact while no
+ * letter occurs more than {@link #MAX_COUNT} times, and two words have equal
+ * pairs exactly when they are anagrams of each other, so the pair doubles as
+ * the word's sorted-letter signature.
+ *
+ * An instance holds, for every word of a dictionary, its packed pair and a
+ * 26-bit letter presence mask in `long[]` columns, for scanning all words
+ * for those that can be built from a given set of letters (see
+ * {@link #collectContained}).
+ */
+final class LetterCounts {
+
+    static final int LETTERS = 26;
+
+    static final int MAX_COUNT = 15;
+
+    private static final int LOW_LETTERS = 13;
+
+    /*
+     * While every count is at most 7, the top bit of each lane is free:
+     * setting it in the container and subtracting the candidate leaves it
+     * set exactly in the lanes where the container count >= candidate count,
+     * with no borrow crossing lanes.
+     */
+    private static final int SWAR_MAX_COUNT = 7;
+
+    private static final long LANE_HIGH_BITS = 0x0008888888888888L;
+
+    private static final long LETTER_BITS = (1L << LETTERS) - 1;
+
+    /*
+     * Set in the mask of words with a count above SWAR_MAX_COUNT; no base
+     * mask has it, so those words always fail the mask test.
+     */
+    private static final long UNPACKED = 1L << 63;
+
+    private static final int LENGTH_SHIFT = 32;
+
+    /*
+     * Per word: letter presence in bits 0-25, word length from bit 32.
+     */
+    private final long[] masks;
+
+    private final long[] low;
+
+    private final long[] high;
+
+    private final int[] unpacked;
+
+    /**
+     * Packs the words of each {@link IdRanges} range in parallel.
+     *
+     * @param words  The words, in ID order, lower case 'a' to 'z' only.
+     */
+    LetterCounts(WordStorage words) {
+        int size = words.size();
+        this.masks = new long[size];
+        this.low = new long[size];
+        this.high = new long[size];
+        int ranges = IdRanges.count(size);
+        IdBuffer[] unpackedIds = new IdBuffer[ranges];
+        IdRanges.forEach(ranges, range -> unpackedIds[range] = pack(words, IdRanges.from(range, ranges, size),
+                IdRanges.from(range + 1, ranges, size)));
+        IdBuffer all = new IdBuffer();
+        for (IdBuffer ids : unpackedIds) {
+            all.addAll(ids.toArray(), 0, ids.size());
+        }
+        this.unpacked = all.toArray();
+    }
+
+    /*
+     * Packs words [from, to).
+     *
+     * @return  The IDs of the words too many of a letter to pack.
+     */
+    private IdBuffer pack(WordStorage words, int from, int to) {
+        IdBuffer unpackedIds = new IdBuffer();
+        WordCursor cursor = words.cursor();
+        for (int id = from; id < to; id++) {
+            CharSequence word = cursor.moveTo(id);
+            int[] counts = count(word);
+            long mask = 0;
+            boolean swarSafe = true;
+            for (int letter = 0; letter < LETTERS; letter++) {
+                if (counts[letter] > 0) {
+                    mask |= 1L << letter;
+                }
+                if (counts[letter] > SWAR_MAX_COUNT) {
+                    swarSafe = false;
+                }
+            }
+            if (swarSafe) {
+                low[id] = low(counts);
+                high[id] = high(counts);
+            } else {
+                mask |= UNPACKED;
+                unpackedIds.add(id);
+            }
+            masks[id] = mask | (long) word.length() << LENGTH_SHIFT;
+        }
+        return unpackedIds;
+    }
+
+    private LetterCounts(long[] masks, long[] low, long[] high, int[] unpacked) {
+        this.masks = masks;
+        this.low = low;
+        this.high = high;
+        this.unpacked = unpacked;
+    }
+
+    /**
+     * @return  true if the word has a letter count above 7, in which case
+     *          {@link #packedLow} and {@link #packedHigh} are 0.
+     */
+    boolean isUnpacked(int id) {
+        return (masks[id] & UNPACKED) != 0;
+    }
+
+    long packedLow(int id) {
+        return low[id];
+    }
+
+    long packedHigh(int id) {
+        return high[id];
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        DictionaryImage.writeLongs(out, masks);
+        DictionaryImage.writeLongs(out, low);
+        DictionaryImage.writeLongs(out, high);
+        DictionaryImage.writeInts(out, unpacked);
+    }
+
+    static LetterCounts read(ByteBuffer in) {
+        long[] masks = DictionaryImage.readLongs(in);
+        long[] low = DictionaryImage.readLongs(in);
+        long[] high = DictionaryImage.readLongs(in);
+        if (low.length != masks.length || high.length != masks.length) {
+            throw new IllegalStateException("Letter count columns sizes differ");
+        }
+        return new LetterCounts(masks, low, high, DictionaryImage.readInts(in));
+    }
+
+    int size() {
+        return masks.length;
+    }
+
+    int length(int id) {
+        return (int) ((masks[id] & ~UNPACKED) >>> LENGTH_SHIFT);
+    }
+
+    /**
+     * Collects the IDs of all words whose letters are a sub-multiset of
+     * `counts`, with at least `minLength` letters, in ID order.
+     *
+     * Most words are rejected by one AND of their presence mask; the rest
+     * are checked with one packed subtract per long, with no per-letter
+     * loop.
+     *
+     * @param counts     Letter counts of the base word.
+     * @param minLength  The minimum length of words.
+     * @param words      The words, to check {@link #unpacked} ones exactly.
+     * @param out        Receives the word IDs.
+     */
+    void collectContained(int[] counts, int minLength, WordStorage words, IdBuffer out) {
+        int[] clamped = new int[LETTERS];
+        long baseMask = 0;
+        for (int letter = 0; letter < LETTERS; letter++) {
+            clamped[letter] = Math.min(counts[letter], SWAR_MAX_COUNT);
+            if (counts[letter] > 0) {
+                baseMask |= 1L << letter;
+            }
+        }
+        long rejectMask = ~baseMask & (LETTER_BITS | UNPACKED);
+        long baseLow = low(clamped) | LANE_HIGH_BITS;
+        long baseHigh = high(clamped) | LANE_HIGH_BITS;
+        long minLengthBits = (long) minLength << LENGTH_SHIFT;
+        int size = masks.length;
+        for (int id = 0; id < size; id++) {
+            long mask = masks[id];
+            if ((mask & rejectMask) != 0) {
+                continue;
+            }
+            long borrow = (baseLow - low[id]) & (baseHigh - high[id]) & LANE_HIGH_BITS;
+            if ((borrow == LANE_HIGH_BITS) & (mask >= minLengthBits)) {
+                out.add(id);
+            }
+        }
+        if (unpacked.length > 0) {
+            int start = out.size();
+            WordCursor cursor = words.cursor();
+            for (int id : unpacked) {
+                if (words.length(id) >= minLength && contains(counts, cursor.moveTo(id))) {
+                    out.add(id);
+                }
+            }
+            if (out.size() > start) {
+                out.sort();
+            }
+        }
+    }
+
+    /**
+     * Collects the IDs of all words of `minLength` to `maxLength` letters
+     * that can be built from `counts` plus `blanks` tiles standing for any
+     * letter, in ID order; as {@link #collectContained}, with blanks.
+     *
+     * A word missing more distinct letters than there are blanks is
+     * rejected by its presence mask alone. For the rest, one packed
+     * subtract per long leaves the lanes short of letters without their
+     * top bit, and the shortfall is summed over those lanes in a few
+     * multiplies, with no per-letter loop.
+     *
+     * @param counts     Letter counts of the rack, without blanks.
+     * @param blanks     The number of blank tiles.
+     * @param minLength  The minimum length of words.
+     * @param maxLength  The maximum length of words.
+     * @param words      The words, to check {@link #unpacked} ones exactly.
+     * @param out        Receives the word IDs.
+     */
+    void collectWithBlanks(int[] counts, int blanks, int minLength, int maxLength, WordStorage words, IdBuffer out) {
+        int[] clamped = new int[LETTERS];
+        long baseMask = 0;
+        for (int letter = 0; letter < LETTERS; letter++) {
+            clamped[letter] = Math.min(counts[letter], SWAR_MAX_COUNT);
+            if (counts[letter] > 0) {
+                baseMask |= 1L << letter;
+            }
+        }
+        long missingMask = ~baseMask & LETTER_BITS;
+        long baseLow = low(clamped) | LANE_HIGH_BITS;
+        long baseHigh = high(clamped) | LANE_HIGH_BITS;
+        int size = masks.length;
+        for (int id = 0; id < size; id++) {
+            long mask = masks[id];
+            if ((mask & UNPACKED) != 0 || Long.bitCount(mask & missingMask) > blanks) {
+                continue;
+            }
+            int length = (int) (mask >>> LENGTH_SHIFT);
+            if (length < minLength || length > maxLength) {
+                continue;
+            }
+            long diffLow = baseLow - low[id];
+            long diffHigh = baseHigh - high[id];
+            if ((diffLow & diffHigh & LANE_HIGH_BITS) == LANE_HIGH_BITS
+                    || shortfall(diffLow) + shortfall(diffHigh) <= blanks) {
+                out.add(id);
+            }
+        }
+        if (unpacked.length > 0) {
+            int start = out.size();
+            WordCursor cursor = words.cursor();
+            for (int id : unpacked) {
+                int length = words.length(id);
+                if (length >= minLength && length <= maxLength && shortfall(counts, cursor.moveTo(id)) <= blanks) {
+                    out.add(id);
+                }
+            }
+            if (out.size() > start) {
+                out.sort();
+            }
+        }
+    }
+
+    /*
+     * Letters short, from `base | LANE_HIGH_BITS` less a word's packed
+     * counts: a lane short of letters has value 8 - shortfall, its top bit
+     * clear.
+     */
+    private static long shortfall(long diff) {
+        long shortLanes = ~diff & LANE_HIGH_BITS;
+        long nibbles = diff & (shortLanes >>> 3) * 0xF;
+        long bytes = (nibbles & 0x0F0F0F0F0F0F0F0FL) + (nibbles >>> 4 & 0x0F0F0F0F0F0F0F0FL);
+        return 8L * Long.bitCount(shortLanes) - (bytes * 0x0101010101010101L >>> 56);
+    }
+
+    /**
+     * @return  The letters of `word` beyond what `counts` allows.
+     */
+    static int shortfall(int[] counts, CharSequence word) {
+        int[] remaining = counts.clone();
+        int shortfall = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (--remaining[word.charAt(i) - 'a'] < 0) {
+                shortfall++;
+            }
+        }
+        return shortfall;
+    }
+
+    /**
+     * @return  true if `word` uses no letter more often than `counts` allows.
+     */
+    static boolean contains(int[] counts, CharSequence word) {
+        int[] remaining = counts.clone();
+        for (int i = 0; i < word.length(); i++) {
+            if (--remaining[word.charAt(i) - 'a'] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the letters 'a' to 'z' of `word`, case insensitive.
+     * Other characters are ignored.
+     *
+     * @return  The counts, indexed 0 ('a') to 25 ('z').
+     */
+    static int[] count(CharSequence word) {
+        int[] counts = new int[LETTERS];
+        for (int i = 0; i < word.length(); i++) {
+            char ch = Character.toLowerCase(word.charAt(i));
+            if (ch >= 'a' && ch <= 'z') {
+                counts[ch - 'a']++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return  true if every count fits a lane.
+     */
+    static boolean isPackable(int[] counts) {
+        for (int count : counts) {
+            if (count > MAX_COUNT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long low(int[] counts) {
+        long packed = 0;
+        for (int letter = 0; letter < LOW_LETTERS; letter++) {
+            packed |= (long) counts[letter] << (4 * letter);
+        }
+        return packed;
+    }
+
+    static long high(int[] counts) {
+        long packed = 0;
+        for (int letter = LOW_LETTERS; letter < LETTERS; letter++) {
+            packed |= (long) counts[letter] << (4 * (letter - LOW_LETTERS));
+        }
+        return packed;
+    }
+
+    /**
+     * @return  The amount to add to the low long for one more `letter`.
+     */
+    static long lowUnit(int letter) {
+        return letter < LOW_LETTERS ? 1L << (4 * letter) : 0;
+    }
+
+    /**
+     * @return  The amount to add to the high long for one more `letter`.
+     */
+    static long highUnit(int letter) {
+        return letter < LOW_LETTERS ? 0 : 1L << (4 * (letter - LOW_LETTERS));
+    }
+
+}
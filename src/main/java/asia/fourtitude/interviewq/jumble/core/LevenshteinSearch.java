@@ -0,0 +1,143 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Finds the words within an edit distance of a query ("did you mean"),
+ * walking the sorted words as the prefix trie they imply.
+ *
+ * For each word, one row of the Levenshtein table is computed per letter,
+ * against the whole query. Consecutive sorted words share their prefix,
+ * and with it the rows of that prefix, so each distinct prefix is
+ * computed once, as a walk down a trie would. Once every entry of a row
+ * exceeds the distance, no word with that prefix can match, and the walk
+ * jumps past all of them by binary search. The work is then proportional
+ * to the prefixes within the distance of some prefix of the query, not to
+ * the dictionary size; and it is capped at {@link #MAX_ROWS} rows.
+ *
+ * Needs no index, so it works the same over any {@link WordStorage}.
+ */
+final class LevenshteinSearch {
+
+    /*
+     * The most table rows one query computes; a query stopping there
+     * returns what it found so far.
+     */
+    static final int MAX_ROWS = 100_000;
+
+    private LevenshteinSearch() {
+    }
+
+    /**
+     * @param words        The words to search.
+     * @param query        The query, lower case 'a' to 'z' only.
+     * @param maxDistance  The most letters inserted, deleted or replaced,
+     *                     0 or more.
+     * @param limit        The most words to return.
+     * @return  IDs of the closest words, by distance, then by ID; `query`
+     *          itself too, if a word.
+     */
+    static int[] search(WordStorage words, String query, int maxDistance, int limit) {
+        int m = query.length();
+        if (m - maxDistance > words.maxLength()) {
+            // even the longest word is too far
+            return new int[0];
+        }
+        // no two words are further apart than the longer one's length
+        maxDistance = Math.min(maxDistance, Math.max(m, words.maxLength()));
+        // no word is longer, so no row deeper is ever computed
+        int maxDepth = Math.min(m + maxDistance, words.maxLength());
+        // rows[i][j]: distance between the first i letters of the word and the first j of the query
+        int[][] rows = new int[maxDepth + 1][m + 1];
+        for (int j = 0; j <= m; j++) {
+            rows[0][j] = j;
+        }
+        IdBuffer[] found = new IdBuffer[maxDistance + 1];
+        // rows[0..valid] are of the letters previous[0..valid)
+        char[] previous = new char[maxDepth];
+        int valid = 0;
+        int computed = 0;
+        int size = words.size();
+        int id = 0;
+        WordCursor cursor = words.cursor();
+        while (id < size && computed < MAX_ROWS) {
+            WordCursor word = cursor.moveTo(id);
+            int shared = commonPrefix(previous, valid, word);
+            int depth = shared;
+            int end = Math.min(word.length(), maxDepth);
+            boolean pruned = false;
+            while (depth < end && !pruned) {
+                pruned = computeRow(rows[depth], rows[depth + 1], word.charAt(depth), query) > maxDistance;
+                depth++;
+                computed++;
+            }
+            for (int i = shared; i < depth; i++) {
+                previous[i] = word.charAt(i);
+            }
+            valid = depth;
+            if (pruned || word.length() > maxDepth) {
+                // as are all the other words of that prefix
+                id = words.prefixTo(word.subSequence(0, depth));
+                continue;
+            }
+            int distance = rows[depth][m];
+            if (distance <= maxDistance) {
+                if (found[distance] == null) {
+                    found[distance] = new IdBuffer();
+                }
+                found[distance].add(id);
+            }
+            id++;
+        }
+        IdBuffer result = new IdBuffer();
+        for (IdBuffer ids : found) {
+            if (ids != null) {
+                // found in ID order
+                result.addAll(ids.toArray(), 0, Math.min(ids.size(), limit - result.size()));
+            }
+        }
+        return result.toArray();
+    }
+
+    /*
+     * The next row, after one more letter of the word.
+     *
+     * @return  The smallest entry of the row.
+     */
+    private static int computeRow(int[] above, int[] row, char letter, String query) {
+        row[0] = above[0] + 1;
+        int min = row[0];
+        for (int j = 1; j < row.length; j++) {
+            int replace = above[j - 1] + (query.charAt(j - 1) == letter ? 0 : 1);
+            row[j] = Math.min(replace, Math.min(above[j], row[j - 1]) + 1);
+            min = Math.min(min, row[j]);
+        }
+        return min;
+    }
+
+    private static int commonPrefix(char[] a, int aLength, CharSequence b) {
+        int max = Math.min(aLength, b.length());
+        int i = 0;
+        while (i < max && a[i] == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return  The Levenshtein distance between `a` and `b`.
+     */
+    static int distance(String a, String b) {
+        int[] above = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j < above.length; j++) {
+            above[j] = j;
+        }
+        for (int i = 0; i < a.length(); i++) {
+            computeRow(above, row, a.charAt(i), b);
+            int[] swap = above;
+            above = row;
+            row = swap;
+        }
+        return above[b.length()];
+    }
+
+}
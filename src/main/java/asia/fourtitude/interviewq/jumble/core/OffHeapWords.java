@@ -0,0 +1,199 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Words kept outside the Java heap: their ASCII letters back to back in one
+ * direct (or memory-mapped) {@link ByteBuffer}, with an {@link IntBuffer} of
+ * start offsets. The garbage collector sees a handful of buffer objects
+ * however many words there are, and never traces or copies the words.
+ *
+ * Lookups binary search the sorted words, comparing letters in place; only
+ * {@link #word} creates a `String`. Reads use absolute positions only, so
+ * the buffers are shared by any number of threads.
+ */
+final class OffHeapWords extends WordStorage {
+
+    private final ByteBuffer letters;
+
+    /*
+     * start offset of each word in letters, then the end of the last word
+     */
+    private final IntBuffer offsets;
+
+    private final int size;
+
+    private final int maxLength;
+
+    /**
+     * Copies the words into newly allocated direct buffers.
+     *
+     * @param words  The words, sorted, lower case 'a' to 'z' only, without
+     *               duplicates.
+     */
+    OffHeapWords(String[] words) {
+        int letterCount = 0;
+        for (String word : words) {
+            letterCount += word.length();
+        }
+        ByteBuffer letters = ByteBuffer.allocateDirect(Math.max(letterCount, 1));
+        IntBuffer offsets = ByteBuffer.allocateDirect(4 * (words.length + 1)).asIntBuffer();
+        int offset = 0;
+        for (int id = 0; id < words.length; id++) {
+            offsets.put(id, offset);
+            String word = words[id];
+            for (int i = 0; i < word.length(); i++) {
+                letters.put(offset++, (byte) word.charAt(i));
+            }
+        }
+        offsets.put(words.length, offset);
+        this.letters = letters;
+        this.offsets = offsets;
+        this.size = words.length;
+        this.maxLength = longest(offsets, size);
+    }
+
+    /**
+     * Over existing buffers, e.g. slices of a mapped {@link DictionaryImage};
+     * not copied.
+     *
+     * @param offsets  Start offset of each word, then the end of the last.
+     * @param letters  The letters of the words, sorted, lower case 'a' to
+     *                 'z' only, without duplicates.
+     */
+    OffHeapWords(IntBuffer offsets, ByteBuffer letters) {
+        this.offsets = offsets;
+        this.letters = letters;
+        this.size = offsets.limit() - 1;
+        this.maxLength = longest(offsets, size);
+    }
+
+    private static int longest(IntBuffer offsets, int size) {
+        int longest = 0;
+        for (int id = 0; id < size; id++) {
+            longest = Math.max(longest, offsets.get(id + 1) - offsets.get(id));
+        }
+        return longest;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    String word(int id) {
+        int from = offsets.get(id);
+        char[] buffer = new char[offsets.get(id + 1) - from];
+        for (int i = 0; i < buffer.length; i++) {
+            buffer[i] = (char) letters.get(from + i);
+        }
+        return new String(buffer);
+    }
+
+    @Override
+    int length(int id) {
+        return offsets.get(id + 1) - offsets.get(id);
+    }
+
+    @Override
+    int maxLength() {
+        return maxLength;
+    }
+
+    @Override
+    int decode(int id, char[] buffer) {
+        int from = offsets.get(id);
+        int length = offsets.get(id + 1) - from;
+        for (int i = 0; i < length; i++) {
+            buffer[i] = (char) letters.get(from + i);
+        }
+        return length;
+    }
+
+    @Override
+    int indexOf(CharSequence word) {
+        char[] key = new char[word == null ? 0 : word.length()];
+        int keyLength = fold(word, key);
+        if (keyLength < 0) {
+            return -1;
+        }
+        int id = bound(key, keyLength, false);
+        return id < size && compare(id, key, keyLength, false) == 0 ? id : -1;
+    }
+
+    @Override
+    int prefixFrom(CharSequence prefix) {
+        return prefixBound(prefix, false);
+    }
+
+    @Override
+    int prefixTo(CharSequence prefix) {
+        return prefixBound(prefix, true);
+    }
+
+    /*
+     * Only the buffer objects are on the heap.
+     */
+    @Override
+    long sizeInBytes() {
+        return 3 * 64L;
+    }
+
+    /**
+     * @return  Memory used outside the heap, in bytes.
+     */
+    long directBytes() {
+        return letters.capacity() + 4L * offsets.capacity();
+    }
+
+    /*
+     * An invalid prefix gives 0 for both bounds, an empty range.
+     */
+    private int prefixBound(CharSequence prefix, boolean upper) {
+        char[] key = new char[prefix == null ? 0 : prefix.length()];
+        int keyLength = fold(prefix, key);
+        return keyLength < 0 ? 0 : bound(key, keyLength, upper);
+    }
+
+    /**
+     * The first ID whose word is not before `key`: lower bound, or with
+     * `upper`, the first word past all the words starting with `key`.
+     */
+    private int bound(char[] key, int keyLength, boolean upper) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int comparison = compare(mid, key, keyLength, upper);
+            if (upper ? comparison <= 0 : comparison < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /*
+     * Compares word `id` with key; with `asPrefix`, a word starting with the
+     * key compares equal.
+     */
+    private int compare(int id, char[] key, int keyLength, boolean asPrefix) {
+        int from = offsets.get(id);
+        int length = offsets.get(id + 1) - from;
+        int max = Math.min(length, keyLength);
+        for (int i = 0; i < max; i++) {
+            int ch = letters.get(from + i);
+            if (ch != key[i]) {
+                return ch - key[i];
+            }
+        }
+        if (asPrefix && length >= keyLength) {
+            return 0;
+        }
+        return length - keyLength;
+    }
+
+}
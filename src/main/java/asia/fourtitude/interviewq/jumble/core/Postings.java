@@ -0,0 +1,141 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Operations on posting lists: sorted `int[]` of word IDs, without
+ * duplicates.
+ */
+final class Postings {
+
+    private Postings() {
+    }
+
+    /**
+     * Intersects two posting lists. The shorter list is walked and each ID
+     * is searched in the longer one by galloping (exponential) search, so the
+     * cost is O(m log(n/m)) for lists of length m <= n.
+     *
+     * @return  The IDs in both lists, sorted.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        if (a.length > b.length) {
+            int[] swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] out = new int[a.length];
+        int count = 0;
+        int low = 0;
+        for (int i = 0; i < a.length && low < b.length; i++) {
+            int id = a[i];
+            int step = 1;
+            int high = low;
+            while (high < b.length && b[high] < id) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int pos = Arrays.binarySearch(b, low, Math.min(high + 1, b.length), id);
+            if (pos >= 0) {
+                out[count++] = id;
+                low = pos + 1;
+            } else {
+                low = -pos - 1;
+            }
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    /**
+     * Same as {@link #intersect}, but finds the IDs one at a time, as
+     * iterated, from `fromId` on; so walking it takes constant memory.
+     *
+     * @return  The IDs >= `fromId` in both lists, in order.
+     */
+    static PrimitiveIterator.OfInt intersection(int[] a, int[] b, int fromId) {
+        return a.length <= b.length ? new Intersection(a, b, fromId) : new Intersection(b, a, fromId);
+    }
+
+    /**
+     * @return  The IDs `from` to `to` (exclusive).
+     */
+    static int[] range(int from, int to) {
+        int[] ids = new int[to - from];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = from + i;
+        }
+        return ids;
+    }
+
+    /**
+     * @return  Index of the first element >= `id` in `list`.
+     */
+    static int lowerBound(int[] list, int id) {
+        int pos = Arrays.binarySearch(list, id);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    private static final class Intersection implements PrimitiveIterator.OfInt {
+
+        private final int[] shorter;
+
+        private final int[] longer;
+
+        private int i;
+
+        private int low;
+
+        /*
+         * The next ID, or -1 once past the end.
+         */
+        private int next;
+
+        Intersection(int[] shorter, int[] longer, int fromId) {
+            this.shorter = shorter;
+            this.longer = longer;
+            this.i = lowerBound(shorter, fromId);
+            this.low = lowerBound(longer, fromId);
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            int id = next;
+            next = advance();
+            return id;
+        }
+
+        private int advance() {
+            while (i < shorter.length && low < longer.length) {
+                int id = shorter[i++];
+                int step = 1;
+                int high = low;
+                while (high < longer.length && longer[high] < id) {
+                    low = high + 1;
+                    high += step;
+                    step <<= 1;
+                }
+                int pos = Arrays.binarySearch(longer, low, Math.min(high + 1, longer.length), id);
+                if (pos >= 0) {
+                    low = pos + 1;
+                    return id;
+                }
+                low = -pos - 1;
+            }
+            return -1;
+        }
+
+    }
+
+}
@@ -0,0 +1,216 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+
+/**
+ * Compressed (radix) trie over a sorted word list, built once.
+ *
+ * Because the words are sorted, all the words below a node are one
+ * contiguous range of word IDs, `[lo, hi)`. So a node only needs that range,
+ * the end of its edge label and its child/sibling links; the label letters
+ * themselves are read from the first word of the range. Nodes live in
+ * parallel `int[]` columns, with no object per node.
+ *
+ * Finding the words of a prefix walks at most one node per letter, and the
+ * result is the range of the node reached: O(prefix length), independent of
+ * dictionary size, and any number of results can be taken from the range.
+ */
+final class PrefixTrie {
+
+    static final int ROOT = 0;
+
+    static final int NONE = -1;
+
+    private final String[] words;
+
+    /*
+     * Per node: depth where edge label ends, word ID range, first child and
+     * next sibling (siblings ordered by letter).
+     */
+    private int[] end;
+
+    private int[] lo;
+
+    private int[] hi;
+
+    private int[] firstChild;
+
+    private int[] nextSibling;
+
+    private int count;
+
+    /**
+     * @param words  The words, sorted, lower case 'a' to 'z' only,
+     *               without duplicates.
+     */
+    PrefixTrie(String[] words) {
+        this.words = words;
+        int capacity = 2 * words.length + 1;
+        this.end = new int[capacity];
+        this.lo = new int[capacity];
+        this.hi = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.nextSibling = new int[capacity];
+        build(0, words.length, 0);
+        this.end = Arrays.copyOf(end, count);
+        this.lo = Arrays.copyOf(lo, count);
+        this.hi = Arrays.copyOf(hi, count);
+        this.firstChild = Arrays.copyOf(firstChild, count);
+        this.nextSibling = Arrays.copyOf(nextSibling, count);
+    }
+
+    /*
+     * Creates node for words [from, to), which all share letters [0, depth).
+     */
+    private int build(int from, int to, int depth) {
+        int node = count++;
+        lo[node] = from;
+        hi[node] = to;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        if (from == to) {
+            end[node] = depth;
+            return node;
+        }
+        String first = words[from];
+        String last = words[to - 1];
+        int labelEnd = depth;
+        int max = Math.min(first.length(), last.length());
+        while (labelEnd < max && first.charAt(labelEnd) == last.charAt(labelEnd)) {
+            labelEnd++;
+        }
+        end[node] = labelEnd;
+
+        int i = from;
+        if (first.length() == labelEnd) {
+            // the word ending at this node sorts first in the range
+            i++;
+        }
+        int previous = NONE;
+        while (i < to) {
+            char ch = words[i].charAt(labelEnd);
+            int j = i + 1;
+            while (j < to && words[j].charAt(labelEnd) == ch) {
+                j++;
+            }
+            int child = build(i, j, labelEnd);
+            if (previous == NONE) {
+                firstChild[node] = child;
+            } else {
+                nextSibling[previous] = child;
+            }
+            previous = child;
+            i = j;
+        }
+        return node;
+    }
+
+    /**
+     * Finds the node covering all the words starting with `prefix`.
+     *
+     * @param prefix  The prefix, any letter case.
+     * @return  The node, or {@link #NONE} if no word has the prefix.
+     */
+    int find(CharSequence prefix) {
+        int node = ROOT;
+        int pos = 0;
+        int length = prefix.length();
+        while (true) {
+            if (lo[node] == hi[node]) {
+                // only the root of an empty trie
+                return pos == length ? node : NONE;
+            }
+            String label = words[lo[node]];
+            int labelEnd = end[node];
+            for (; pos < labelEnd; pos++) {
+                if (pos == length) {
+                    return node;
+                }
+                if (fold(prefix.charAt(pos)) != label.charAt(pos)) {
+                    return NONE;
+                }
+            }
+            if (pos == length) {
+                return node;
+            }
+            node = child(node, fold(prefix.charAt(pos)));
+            if (node == NONE) {
+                return NONE;
+            }
+        }
+    }
+
+    /**
+     * @param node    The parent node.
+     * @param letter  The first letter of the child's edge label.
+     * @return  The child node, or {@link #NONE}.
+     */
+    int child(int node, int letter) {
+        int depth = end[node];
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            char ch = words[lo[child]].charAt(depth);
+            if (ch == letter) {
+                return child;
+            }
+            if (ch > letter) {
+                break;
+            }
+        }
+        return NONE;
+    }
+
+    int firstChild(int node) {
+        return firstChild[node];
+    }
+
+    int nextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    /**
+     * @return  Depth (number of letters from root) where the node's label ends.
+     */
+    int end(int node) {
+        return end[node];
+    }
+
+    /**
+     * @return  First word ID (inclusive) below the node.
+     */
+    int lo(int node) {
+        return lo[node];
+    }
+
+    /**
+     * @return  Last word ID (exclusive) below the node.
+     */
+    int hi(int node) {
+        return hi[node];
+    }
+
+    /**
+     * @return  true if a word ends exactly at this node (the word `lo(node)`).
+     */
+    boolean isTerminal(int node) {
+        return lo[node] < hi[node] && words[lo[node]].length() == end[node];
+    }
+
+    /**
+     * @return  The letter at `depth` of the node's label.
+     */
+    char letter(int node, int depth) {
+        return words[lo[node]].charAt(depth);
+    }
+
+    int nodeCount() {
+        return count;
+    }
+
+    private static int fold(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            return ch + ('a' - 'A');
+        }
+        return ch;
+    }
+
+}
@@ -0,0 +1,359 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ready-made games, so that starting a game does not pick, scramble and
+ * find the sub words on the request thread.
+ *
+ * Games are pooled per engine and (length, minLength), in a lock-free
+ * queue of at most `capacity` games. The first request for a combination
+ * creates its game inline and registers the combination; from then on,
+ * requests just dequeue, and a daemon producer thread refills a queue to
+ * capacity whenever it drops below `lowWater`. A request finding the queue
+ * empty still creates its game inline.
+ *
+ * Each pooled game remembers the dictionary snapshot it was made from;
+ * after the engine's dictionary is reloaded, older games are dropped rather
+ * than handed out.
+ */
+public final class PuzzlePool implements Closeable {
+
+    /*
+     * How often the producer looks for reloaded dictionaries, when not
+     * woken up by a request.
+     */
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Logger LOG = LoggerFactory.getLogger(PuzzlePool.class);
+
+    private final int capacity;
+
+    private final int lowWater;
+
+    private final Map<Key, Slot> slots = new ConcurrentHashMap<>();
+
+    private final Thread thread;
+
+    private volatile boolean closed;
+
+    private PuzzlePool(int capacity, int lowWater) {
+        if (capacity < 1 || lowWater < 0 || lowWater > capacity) {
+            throw new IllegalArgumentException(
+                    "Invalid capacity=[" + capacity + "], lowWater=[" + lowWater + "], expect 0 <= lowWater <= capacity");
+        }
+        this.capacity = capacity;
+        this.lowWater = lowWater;
+        this.thread = new Thread(this::produce, "puzzle-pool");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Creates a pool, and starts its producer.
+     *
+     * @param capacity  The most games pooled per combination, positive.
+     * @param lowWater  Refill once fewer games than this are pooled; at
+     *                  most `capacity`.
+     * @return  The started pool; close it to stop the producer.
+     */
+    public static PuzzlePool start(int capacity, int lowWater) {
+        PuzzlePool pool = new PuzzlePool(capacity, lowWater);
+        pool.thread.start();
+        return pool;
+    }
+
+    /**
+     * Takes a new game, as {@link JumbleEngine#createGameState} would
+     * create.
+     *
+     * @param engine     The engine to create games with.
+     * @param length     The length of the word to guess.
+     * @param minLength  The minimum length of sub words.
+     * @return  The game, not handed out to anyone else.
+     * @throws IllegalArgumentException  As {@link JumbleEngine#createGameState}.
+     */
+    public GameState take(JumbleEngine engine, int length, int minLength) {
+        Objects.requireNonNull(engine, "engine must not be null");
+        Key key = new Key(engine, length, minLength);
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            GameState state = slot.poll(engine.getDictionary());
+            if (slot.depth() < lowWater) {
+                LockSupport.unpark(thread);
+            }
+            if (state != null) {
+                slot.hits.increment();
+                return state;
+            }
+        }
+        // also validates the combination before registering it
+        GameState state = engine.createGameState(length, minLength);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(key, Slot::new);
+            LockSupport.unpark(thread);
+        }
+        slot.misses.increment();
+        return state;
+    }
+
+    /**
+     * @return  The current statistics of each pooled combination.
+     */
+    public List<Stats> getStats() {
+        List<Stats> list = new ArrayList<>();
+        for (Slot slot : slots.values()) {
+            list.add(new Stats(slot));
+        }
+        return list;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getLowWater() {
+        return lowWater;
+    }
+
+    private void produce() {
+        while (!closed) {
+            for (Slot slot : slots.values()) {
+                if (closed) {
+                    return;
+                }
+                slot.dropStale();
+                if (slot.depth() < lowWater) {
+                    refill(slot);
+                }
+            }
+            LockSupport.parkNanos(this, IDLE_NANOS);
+        }
+    }
+
+    private void refill(Slot slot) {
+        while (!closed && slot.depth() < capacity) {
+            Dictionary dictionary = slot.key.engine.getDictionary();
+            long start = System.nanoTime();
+            GameState state;
+            try {
+                state = slot.key.engine.createGameState(slot.key.length, slot.key.minLength);
+            } catch (RuntimeException e) {
+                // e.g. no word of that length in a reloaded dictionary; retry later
+                LOG.warn("Error create game for pool {}", slot.key, e);
+                return;
+            }
+            slot.producedNanos.addAndGet(System.nanoTime() - start);
+            slot.produced.incrementAndGet();
+            slot.offer(dictionary, state);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+    }
+
+    private static final class Key {
+
+        final JumbleEngine engine;
+
+        final int length;
+
+        final int minLength;
+
+        Key(JumbleEngine engine, int length, int minLength) {
+            this.engine = engine;
+            this.length = length;
+            this.minLength = minLength;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return engine == other.engine && length == other.length && minLength == other.minLength;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(engine) * 31 + length) * 31 + minLength;
+        }
+
+        @Override
+        public String toString() {
+            return "length=[" + length + "], minLength=[" + minLength + "]";
+        }
+
+    }
+
+    private static final class Entry {
+
+        final Dictionary dictionary;
+
+        final GameState state;
+
+        Entry(Dictionary dictionary, GameState state) {
+            this.dictionary = dictionary;
+            this.state = state;
+        }
+
+    }
+
+    private static final class Slot {
+
+        final Key key;
+
+        final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+
+        /*
+         * queue.size() is O(n), so the depth is counted aside
+         */
+        final AtomicInteger depth = new AtomicInteger();
+
+        final AtomicLong produced = new AtomicLong();
+
+        final AtomicLong producedNanos = new AtomicLong();
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        Slot(Key key) {
+            this.key = key;
+        }
+
+        int depth() {
+            return depth.get();
+        }
+
+        void offer(Dictionary dictionary, GameState state) {
+            queue.offer(new Entry(dictionary, state));
+            depth.incrementAndGet();
+        }
+
+        /*
+         * The next game made from `dictionary`, dropping older ones.
+         */
+        GameState poll(Dictionary dictionary) {
+            Entry entry;
+            while ((entry = queue.poll()) != null) {
+                depth.decrementAndGet();
+                if (entry.dictionary == dictionary) {
+                    return entry.state;
+                }
+            }
+            return null;
+        }
+
+        void dropStale() {
+            Dictionary dictionary = key.engine.getDictionary();
+            Entry entry;
+            while ((entry = queue.peek()) != null && entry.dictionary != dictionary) {
+                if (queue.remove(entry)) {
+                    depth.decrementAndGet();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Point-in-time statistics of one pooled combination.
+     */
+    public static final class Stats {
+
+        private final JumbleEngine engine;
+
+        private final int length;
+
+        private final int minLength;
+
+        private final int depth;
+
+        private final long produced;
+
+        private final long hits;
+
+        private final long misses;
+
+        private final double refillsPerSecond;
+
+        Stats(Slot slot) {
+            this.engine = slot.key.engine;
+            this.length = slot.key.length;
+            this.minLength = slot.key.minLength;
+            this.depth = slot.depth();
+            this.produced = slot.produced.get();
+            this.hits = slot.hits.sum();
+            this.misses = slot.misses.sum();
+            long nanos = slot.producedNanos.get();
+            this.refillsPerSecond = nanos == 0 ? 0.0 : produced * 1e9 / nanos;
+        }
+
+        public JumbleEngine getEngine() {
+            return engine;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public int getMinLength() {
+            return minLength;
+        }
+
+        /**
+         * @return  The games pooled now.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * @return  The games made by the producer so far.
+         */
+        public long getProduced() {
+            return produced;
+        }
+
+        /**
+         * @return  The games taken from the pool.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * @return  The games created inline, the pool being empty.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return  The games the producer makes per second of its work.
+         */
+        public double getRefillsPerSecond() {
+            return refillsPerSecond;
+        }
+
+    }
+
+}
@@ -0,0 +1,161 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the highest-scoring words playable from a rack of letter tiles,
+ * some of them blanks ('?') that stand for any letter and score 0.
+ *
+ * Candidates come from one blank-aware scan of the packed letter counts
+ * ({@link LetterCounts#collectWithBlanks}). Each is scored, and the best
+ * `limit` are kept in a min-heap of `long` keys (score, then word ID),
+ * so only those `limit` words are ever sorted.
+ */
+final class RackSolver {
+
+    static final char BLANK = '?';
+
+    /*
+     * Racks longer than this are rejected.
+     */
+    static final int MAX_TILES = 15;
+
+    /*
+     * Shorter words are not playable.
+     */
+    static final int MIN_LENGTH = 2;
+
+    /*
+     * English tile values, 'a' to 'z'.
+     */
+    private static final int[] TILE_VALUES = {
+            1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10 };
+
+    private RackSolver() {
+    }
+
+    /**
+     * @param words         The words.
+     * @param letterCounts  Packed letter counts of the words.
+     * @param rack          The rack, as from {@link #normalize}.
+     * @param limit         The most words to return.
+     * @return  The best words, by score, then alphabetically.
+     */
+    static List<RackWord> solve(WordStorage words, LetterCounts letterCounts, String rack, int limit) {
+        int[] counts = LetterCounts.count(rack);
+        int blanks = rack.length() - sum(counts);
+        IdBuffer ids = new IdBuffer();
+        letterCounts.collectWithBlanks(counts, blanks, MIN_LENGTH, rack.length(), words, ids);
+
+        // min-heap of score << 32 | ~id: the root is the worst word kept
+        long[] heap = new long[Math.min(limit, ids.size())];
+        int size = 0;
+        int[] used = new int[LetterCounts.LETTERS];
+        WordCursor cursor = words.cursor();
+        for (int id : ids.toArray()) {
+            long key = (long) score(counts, cursor.moveTo(id), used) << 32 | (~id & 0xFFFFFFFFL);
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (size > 0 && key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+        RackWord[] best = new RackWord[size];
+        while (size > 0) {
+            long key = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size);
+            best[size] = new RackWord(words.word(~(int) key), (int) (key >>> 32));
+        }
+        List<RackWord> list = new ArrayList<>(best.length);
+        for (RackWord word : best) {
+            list.add(word);
+        }
+        return list;
+    }
+
+    /*
+     * Tile values of the letters of `word` played from `counts`; the rest
+     * are played by blanks. `used` is scratch space, all 0.
+     */
+    private static int score(int[] counts, CharSequence word, int[] used) {
+        int score = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = word.charAt(i) - 'a';
+            if (used[letter]++ < counts[letter]) {
+                score += TILE_VALUES[letter];
+            }
+        }
+        for (int i = 0; i < word.length(); i++) {
+            used[word.charAt(i) - 'a'] = 0;
+        }
+        return score;
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        long key = heap[i];
+        while (i > 0 && heap[(i - 1) >>> 1] > key) {
+            heap[i] = heap[(i - 1) >>> 1];
+            i = (i - 1) >>> 1;
+        }
+        heap[i] = key;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        long key = heap[0];
+        int i = 0;
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= key) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = key;
+    }
+
+    private static int sum(int[] counts) {
+        int sum = 0;
+        for (int count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Lower cases `rack`, and takes '.' as a blank too.
+     *
+     * @param rack  The rack, any letter case.
+     * @return  The rack; or null if blank, longer than {@link #MAX_TILES},
+     *          or having anything other than letters 'a' to 'z' and blanks.
+     */
+    static String normalize(String rack) {
+        if (rack == null) {
+            return null;
+        }
+        String trimmed = rack.trim();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_TILES) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char ch = Character.toLowerCase(trimmed.charAt(i));
+            if (ch == '.') {
+                ch = BLANK;
+            }
+            if ((ch < 'a' || ch > 'z') && ch != BLANK) {
+                return null;
+            }
+            normalized.append(ch);
+        }
+        return normalized.toString();
+    }
+
+}
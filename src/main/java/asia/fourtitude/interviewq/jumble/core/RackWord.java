@@ -0,0 +1,33 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * A word playable from a rack of tiles, and its score.
+ */
+public final class RackWord {
+
+    private final String word;
+
+    private final int score;
+
+    public RackWord(String word, int score) {
+        this.word = word;
+        this.score = score;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * @return  The sum of its tile values; letters played by blanks score 0.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return word + "=" + score;
+    }
+
+}
@@ -0,0 +1,180 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Posting lists for searching words by first letter, last letter and length.
+ *
+ * Since word IDs follow sorted order, the words of one first letter are a
+ * contiguous ID range. Words by last letter, and by (first, last) letter
+ * pair, are kept as sorted `int[]` posting lists, and words by length come
+ * from {@link LengthIndex}. Any combination of the three criteria is then a
+ * range, a single list, or the intersection of two small lists.
+ */
+final class SearchIndex {
+
+    /*
+     * Marks a criteria that is not used in search.
+     */
+    static final int ANY = -1;
+
+    private static final int LETTERS = 26;
+
+    private final LengthIndex lengthIndex;
+
+    /*
+     * Words starting with letter L are IDs [firstStart[L], firstStart[L + 1]).
+     */
+    private final int[] firstStart;
+
+    private final int[][] byLast;
+
+    /*
+     * byFirstLast[first * 26 + last]
+     */
+    private final int[][] byFirstLast;
+
+    /**
+     * Counts the letter pairs of each {@link IdRanges} range in parallel,
+     * then fills each range's slots of the lists in parallel.
+     *
+     * @param words        The words, sorted, lower case 'a' to 'z' only.
+     * @param lengthIndex  The length buckets of the same words.
+     */
+    SearchIndex(WordStorage words, LengthIndex lengthIndex) {
+        this.lengthIndex = lengthIndex;
+        int size = words.size();
+        // pairs[id] = first * 26 + last
+        short[] pairs = new short[size];
+        int ranges = IdRanges.count(size);
+        // [range][pair] and [range][last] counts, then the range's first slot
+        // in byFirstLast[pair] and byLast[last]
+        int[][] pairCounts = new int[ranges][LETTERS * LETTERS];
+        int[][] lastCounts = new int[ranges][LETTERS];
+        IdRanges.forEach(ranges, range -> {
+            WordCursor cursor = words.cursor();
+            for (int id = IdRanges.from(range, ranges, size), to = IdRanges.from(range + 1, ranges, size);
+                    id < to; id++) {
+                CharSequence word = cursor.moveTo(id);
+                int first = word.charAt(0) - 'a';
+                int last = word.charAt(word.length() - 1) - 'a';
+                pairs[id] = (short) (first * LETTERS + last);
+                pairCounts[range][pairs[id]]++;
+                lastCounts[range][last]++;
+            }
+        });
+        this.firstStart = new int[LETTERS + 1];
+        this.byFirstLast = new int[LETTERS * LETTERS][];
+        for (int pair = 0; pair < byFirstLast.length; pair++) {
+            int slot = slots(pairCounts, pair);
+            firstStart[pair / LETTERS + 1] += slot;
+            byFirstLast[pair] = new int[slot];
+        }
+        for (int letter = 0; letter < LETTERS; letter++) {
+            firstStart[letter + 1] += firstStart[letter];
+        }
+        this.byLast = new int[LETTERS][];
+        for (int letter = 0; letter < LETTERS; letter++) {
+            byLast[letter] = new int[slots(lastCounts, letter)];
+        }
+        IdRanges.forEach(ranges, range -> {
+            int[] pairSlots = pairCounts[range];
+            int[] lastSlots = lastCounts[range];
+            for (int id = IdRanges.from(range, ranges, size), to = IdRanges.from(range + 1, ranges, size);
+                    id < to; id++) {
+                int pair = pairs[id];
+                int last = pair % LETTERS;
+                byFirstLast[pair][pairSlots[pair]++] = id;
+                byLast[last][lastSlots[last]++] = id;
+            }
+        });
+    }
+
+    /*
+     * Turns counts[range][key] into the first slot of each range, in range
+     * order.
+     *
+     * @return  The total count of `key`.
+     */
+    private static int slots(int[][] counts, int key) {
+        int slot = 0;
+        for (int[] rangeCounts : counts) {
+            int count = rangeCounts[key];
+            rangeCounts[key] = slot;
+            slot += count;
+        }
+        return slot;
+    }
+
+    /**
+     * @param first   First letter, 0 ('a') to 25 ('z'), or {@link #ANY}.
+     * @param last    Last letter, 0 ('a') to 25 ('z'), or {@link #ANY}.
+     * @param length  Word length, or {@link #ANY}.
+     * @return  Sorted IDs of the matching words; a new array, the caller's
+     *          to keep.
+     */
+    int[] searchIds(int first, int last, int length) {
+        if (first == ANY && last == ANY && length == ANY) {
+            return new int[0];
+        }
+        int[] bucket = length == ANY ? null : lengthIndex.bucket(length);
+        if (last == ANY) {
+            if (first == ANY) {
+                return bucket.clone();
+            }
+            int from = firstStart[first];
+            int to = firstStart[first + 1];
+            if (bucket == null) {
+                return Postings.range(from, to);
+            }
+            // the bucket is sorted, so its IDs in [from, to) are one slice
+            return Arrays.copyOfRange(bucket, Postings.lowerBound(bucket, from), Postings.lowerBound(bucket, to));
+        }
+        int[] list = first == ANY ? byLast[last] : byFirstLast[first * LETTERS + last];
+        if (bucket == null) {
+            return list.clone();
+        }
+        return Postings.intersect(list, bucket);
+    }
+
+    /**
+     * Same as {@link #searchIds}, but walks the matching IDs one at a time,
+     * without copying any list, so in constant memory.
+     *
+     * @param fromId  The first ID to consider; the ones before are skipped.
+     * @return  The IDs >= `fromId` of the matching words, in order.
+     */
+    PrimitiveIterator.OfInt iterator(int first, int last, int length, int fromId) {
+        if (first == ANY && last == ANY && length == ANY) {
+            return IntStream.empty().iterator();
+        }
+        int[] bucket = length == ANY ? null : lengthIndex.bucket(length);
+        if (last == ANY) {
+            if (first == ANY) {
+                return slice(bucket, fromId, Integer.MAX_VALUE);
+            }
+            int from = Math.max(firstStart[first], fromId);
+            int to = firstStart[first + 1];
+            if (bucket == null) {
+                return IntStream.range(from, to).iterator();
+            }
+            return slice(bucket, from, to);
+        }
+        int[] list = first == ANY ? byLast[last] : byFirstLast[first * LETTERS + last];
+        if (bucket == null) {
+            return slice(list, fromId, Integer.MAX_VALUE);
+        }
+        return Postings.intersection(list, bucket, fromId);
+    }
+
+    /*
+     * The IDs of `list` in [from, to).
+     */
+    private static PrimitiveIterator.OfInt slice(int[] list, int from, int to) {
+        int start = Postings.lowerBound(list, from);
+        return Arrays.stream(list, start, Math.max(start, Postings.lowerBound(list, to))).iterator();
+    }
+
+}
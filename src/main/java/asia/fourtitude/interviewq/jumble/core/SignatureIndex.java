@@ -0,0 +1,219 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+
+/**
+ * Index from sorted-letter signature to the IDs of the words having it
+ * (i.e. groups of anagrams), built once.
+ *
+ * A signature is the packed letter-count pair of {@link LetterCounts}. The
+ * pairs are kept in an open-addressing hash table that maps to a group, and
+ * each group's word IDs are one sorted slice of a shared `int[]`.
+ *
+ * Sub-words of a base word are found by enumerating the sub-multisets of
+ * the base word's letters, and looking each one up: at most
+ * (c1 + 1) * (c2 + 1) * ... lookups for letter counts c1, c2, ..., which for
+ * short base words is far less than checking every dictionary word.
+ */
+final class SignatureIndex {
+
+    private static final int EMPTY = -1;
+
+    /*
+     * A signature lane cannot count beyond this, so neither can a sub word.
+     */
+    private static final int MAX_LANE = LetterCounts.MAX_COUNT;
+
+    private final int maxLength;
+
+    private final long[] slotLow;
+
+    private final long[] slotHigh;
+
+    private final int[] slotGroup;
+
+    private final int mask;
+
+    /*
+     * Words of group G are groupIds[groupStart[G] .. groupStart[G + 1]).
+     */
+    private final int[] groupStart;
+
+    private final int[] groupIds;
+
+    /*
+     * Words with a letter count that does not fit a lane; too rare to index.
+     */
+    private final int[] unpackable;
+
+    /**
+     * @param words         The words, in ID order, lower case 'a' to 'z' only.
+     * @param letterCounts  Packed letter counts of the words.
+     */
+    SignatureIndex(WordStorage words, LetterCounts letterCounts) {
+        int capacity = Integer.highestOneBit(Math.max(words.size(), 1) * 2 - 1) << 1;
+        this.slotLow = new long[capacity];
+        this.slotHigh = new long[capacity];
+        this.slotGroup = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(slotGroup, EMPTY);
+
+        int size = words.size();
+        int[] wordGroup = new int[size];
+        int[] groupCounts = new int[size + 1];
+        IdBuffer unpackableIds = new IdBuffer();
+        int groups = 0;
+        int longest = 0;
+        WordCursor cursor = words.cursor();
+        for (int id = 0; id < size; id++) {
+            longest = Math.max(longest, letterCounts.length(id));
+            long low = letterCounts.packedLow(id);
+            long high = letterCounts.packedHigh(id);
+            if (letterCounts.isUnpacked(id)) {
+                int[] counts = LetterCounts.count(cursor.moveTo(id));
+                if (!LetterCounts.isPackable(counts)) {
+                    wordGroup[id] = EMPTY;
+                    unpackableIds.add(id);
+                    continue;
+                }
+                low = LetterCounts.low(counts);
+                high = LetterCounts.high(counts);
+            }
+            int slot = slot(low, high);
+            if (slotGroup[slot] == EMPTY) {
+                slotLow[slot] = low;
+                slotHigh[slot] = high;
+                slotGroup[slot] = groups++;
+            }
+            wordGroup[id] = slotGroup[slot];
+            groupCounts[wordGroup[id] + 1]++;
+        }
+        this.maxLength = longest;
+        this.unpackable = unpackableIds.toArray();
+
+        this.groupStart = Arrays.copyOf(groupCounts, groups + 1);
+        for (int group = 0; group < groups; group++) {
+            groupStart[group + 1] += groupStart[group];
+        }
+        this.groupIds = new int[groupStart[groups]];
+        int[] next = Arrays.copyOf(groupStart, groups);
+        for (int id = 0; id < size; id++) {
+            if (wordGroup[id] != EMPTY) {
+                groupIds[next[wordGroup[id]]++] = id;
+            }
+        }
+    }
+
+    /*
+     * The slot holding (low, high), or the empty slot where it would go.
+     */
+    private int slot(long low, long high) {
+        long h = low * 0x9E3779B97F4A7C15L ^ high * 0xC2B2AE3D27D4EB4FL;
+        int slot = (int) (h ^ (h >>> 32)) & mask;
+        while (slotGroup[slot] != EMPTY && (slotLow[slot] != low || slotHigh[slot] != high)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * @return  The group of anagrams with signature (low, high), or -1.
+     */
+    int group(long low, long high) {
+        return slotGroup[slot(low, high)];
+    }
+
+    int groupCount() {
+        return groupStart.length - 1;
+    }
+
+    int groupFrom(int group) {
+        return groupStart[group];
+    }
+
+    int groupTo(int group) {
+        return groupStart[group + 1];
+    }
+
+    int[] groupIds() {
+        return groupIds;
+    }
+
+    /**
+     * @return  Word IDs that could not be indexed; callers must check them
+     *          by other means.
+     */
+    int[] unpackable() {
+        return unpackable;
+    }
+
+    /**
+     * @param counts  Letter counts of the base word.
+     * @return  Number of sub-multisets {@link #collectSubWords} would visit,
+     *          capped at Long.MAX_VALUE / 64.
+     */
+    static long enumerationCost(int[] counts) {
+        long cost = 1;
+        for (int count : counts) {
+            cost *= count + 1;
+            if (cost > Long.MAX_VALUE / 64) {
+                return Long.MAX_VALUE / 64;
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Collects the IDs of words whose letters are a sub-multiset of
+     * `counts`, with at least `minLength` letters. IDs come out grouped by
+     * signature, not sorted. {@link #unpackable()} words are not included.
+     *
+     * @param counts     Letter counts of the base word.
+     * @param minLength  The minimum length of sub words.
+     * @param out        Receives the word IDs.
+     */
+    void collectSubWords(int[] counts, int minLength, IdBuffer out) {
+        int distinct = 0;
+        int total = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                distinct++;
+                total += Math.min(count, MAX_LANE);
+            }
+        }
+        int[] letters = new int[distinct];
+        int[] letterCounts = new int[distinct];
+        for (int letter = 0, k = 0; letter < counts.length; letter++) {
+            if (counts[letter] > 0) {
+                letters[k] = letter;
+                letterCounts[k++] = Math.min(counts[letter], MAX_LANE);
+            }
+        }
+        enumerate(letters, letterCounts, 0, 0L, 0L, 0, total, minLength, out);
+    }
+
+    private void enumerate(int[] letters, int[] counts, int k, long low, long high,
+            int length, int remaining, int minLength, IdBuffer out) {
+        if (length + remaining < minLength || length > maxLength) {
+            return;
+        }
+        if (k == letters.length) {
+            if (length > 0) {
+                int group = group(low, high);
+                if (group != EMPTY) {
+                    out.addAll(groupIds, groupStart[group], groupStart[group + 1]);
+                }
+            }
+            return;
+        }
+        long lowUnit = LetterCounts.lowUnit(letters[k]);
+        long highUnit = LetterCounts.highUnit(letters[k]);
+        int rest = remaining - counts[k];
+        for (int n = 0; n <= counts[k]; n++) {
+            enumerate(letters, counts, k + 1, low, high, length + n, rest, minLength, out);
+            low += lowUnit;
+            high += highUnit;
+        }
+    }
+
+}
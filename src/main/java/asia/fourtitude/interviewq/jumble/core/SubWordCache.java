@@ -0,0 +1,249 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of sub-word results, keyed by the letters of the base word
+ * (its signature, e.g. "eilnst" for both "listen" and "silent") and the
+ * minimum length.
+ *
+ * Lookups are lock-free. When full, an insert evicts the least frequently
+ * used of {@link #SAMPLE_SIZE} entries sampled at random, so popular
+ * signatures stay while one-off ones come and go; frequencies are halved
+ * after every `capacity` inserts, so that formerly popular entries
+ * eventually make room.
+ *
+ * Results are word IDs, only valid for the dictionary snapshot they were
+ * found in; the cache empties itself when asked about a new snapshot.
+ */
+public final class SubWordCache {
+
+    static final int SAMPLE_SIZE = 8;
+
+    private final int capacity;
+
+    private final Map<Key, Entry> map = new ConcurrentHashMap<>();
+
+    /*
+     * The entries of map, for random sampling; guarded by this
+     */
+    private final Entry[] entries;
+
+    private int size;
+
+    private int insertsSinceAging;
+
+    private volatile Dictionary dictionary;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity  The most results kept, positive.
+     */
+    public SubWordCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity=[" + capacity + "], expect positive integer");
+        }
+        this.capacity = capacity;
+        this.entries = new Entry[capacity];
+    }
+
+    /**
+     * Same as {@link Dictionary#subWordIds(CharSequence, int)}, from the
+     * cache when the letters of `word` were seen before.
+     *
+     * @param snapshot   The dictionary to search.
+     * @param word       The base word.
+     * @param minLength  The minimum length of sub words, positive.
+     * @return  Sorted IDs of the sub words; shared, must not be modified.
+     */
+    int[] subWordIds(Dictionary snapshot, CharSequence word, int minLength) {
+        int[] counts = LetterCounts.count(word);
+        Key key = new Key(signature(counts), minLength);
+        if (snapshot != dictionary) {
+            reset(snapshot);
+        }
+        Entry entry = map.get(key);
+        if (entry != null && entry.dictionary == snapshot) {
+            entry.frequency.incrementAndGet();
+            hits.increment();
+            return snapshot.withoutWord(entry.ids, word);
+        }
+        misses.increment();
+        // computed outside the lock; racing misses just compute it twice
+        int[] ids = snapshot.subWordIds(counts, minLength);
+        put(key, new Entry(snapshot, ids));
+        return snapshot.withoutWord(ids, word);
+    }
+
+    private synchronized void reset(Dictionary snapshot) {
+        if (snapshot != dictionary) {
+            map.clear();
+            Arrays.fill(entries, 0, size, null);
+            size = 0;
+            insertsSinceAging = 0;
+            dictionary = snapshot;
+        }
+    }
+
+    private synchronized void put(Key key, Entry entry) {
+        if (entry.dictionary != dictionary) {
+            // the dictionary was reloaded meanwhile
+            return;
+        }
+        entry.key = key;
+        Entry old = map.put(key, entry);
+        if (old != null) {
+            entry.index = old.index;
+            entries[entry.index] = entry;
+            return;
+        }
+        if (size < capacity) {
+            entry.index = size;
+            entries[size++] = entry;
+        } else {
+            Entry victim = sampleVictim();
+            map.remove(victim.key, victim);
+            entry.index = victim.index;
+            entries[entry.index] = entry;
+            evictions.increment();
+        }
+        if (++insertsSinceAging >= capacity) {
+            insertsSinceAging = 0;
+            for (int i = 0; i < size; i++) {
+                AtomicInteger frequency = entries[i].frequency;
+                frequency.set(frequency.get() >>> 1);
+            }
+        }
+    }
+
+    /*
+     * The least frequently used of a random sample.
+     */
+    private Entry sampleVictim() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Entry victim = entries[random.nextInt(size)];
+        for (int i = 1; i < SAMPLE_SIZE; i++) {
+            Entry candidate = entries[random.nextInt(size)];
+            if (candidate.frequency.get() < victim.frequency.get()) {
+                victim = candidate;
+            }
+        }
+        return victim;
+    }
+
+    /*
+     * The letters of `counts` in order, e.g. "eilnst".
+     */
+    static String signature(int[] counts) {
+        int length = 0;
+        for (int count : counts) {
+            length += count;
+        }
+        char[] letters = new char[length];
+        int i = 0;
+        for (int letter = 0; letter < counts.length; letter++) {
+            for (int n = counts[letter]; n > 0; n--) {
+                letters[i++] = (char) ('a' + letter);
+            }
+        }
+        return new String(letters);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return  The results cached now.
+     */
+    public int getSize() {
+        return map.size();
+    }
+
+    /**
+     * @return  The lookups answered from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return  The lookups that had to search the dictionary.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return  The results evicted to make room.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "capacity=[" + capacity + "], size=[" + getSize() + "], hits=[" + getHits() + "], misses=["
+                + getMisses() + "], evictions=[" + getEvictions() + "]";
+    }
+
+    private static final class Key {
+
+        final String signature;
+
+        final int minLength;
+
+        Key(String signature, int minLength) {
+            this.signature = signature;
+            this.minLength = minLength;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return minLength == other.minLength && signature.equals(other.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return signature.hashCode() * 31 + minLength;
+        }
+
+    }
+
+    private static final class Entry {
+
+        final Dictionary dictionary;
+
+        final int[] ids;
+
+        final AtomicInteger frequency = new AtomicInteger(1);
+
+        /*
+         * key and position in entries; guarded by the cache
+         */
+        Key key;
+
+        int index;
+
+        Entry(Dictionary dictionary, int[] ids) {
+            this.dictionary = dictionary;
+            this.ids = ids;
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Finds the words matching a crossword-style pattern, e.g. "a?p??e" or
+ * "un*able": '?' is any one letter, '*' any letters, none included.
+ *
+ * The letters before the first wildcard select one range of word IDs,
+ * through the prefix trie. Within it, the letters up to the first '*' are
+ * at fixed positions, so a word failing one of them rules out every word
+ * sharing its prefix up to there; the walk jumps past them by binary
+ * search, like descending only the matching branches of the trie. Only
+ * after the first '*' is each word matched by itself.
+ *
+ * Needs no index, so it works the same over any {@link WordStorage}.
+ */
+final class WildcardSearch {
+
+    static final char ANY_LETTER = '?';
+
+    static final char ANY_LETTERS = '*';
+
+    private WildcardSearch() {
+    }
+
+    /**
+     * @param pattern  The pattern, as from {@link #normalize}.
+     * @return  The letters before the first wildcard.
+     */
+    static String literalPrefix(String pattern) {
+        int i = 0;
+        while (i < pattern.length() && pattern.charAt(i) != ANY_LETTER && pattern.charAt(i) != ANY_LETTERS) {
+            i++;
+        }
+        return pattern.substring(0, i);
+    }
+
+    /**
+     * @param words    The words to search.
+     * @param pattern  The pattern, as from {@link #normalize}.
+     * @param from     The first ID (inclusive) of the words starting with
+     *                 the {@link #literalPrefix} of `pattern`.
+     * @param to       The last ID (exclusive) of those words.
+     * @param limit    The most words to return.
+     * @return  Sorted IDs of the matching words.
+     */
+    static int[] search(WordStorage words, String pattern, int from, int to, int limit) {
+        int star = pattern.indexOf(ANY_LETTERS);
+        // letters [0, fixed) of a word must match the pattern position by position
+        int fixed = star < 0 ? pattern.length() : star;
+        int minLength = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            minLength += pattern.charAt(i) == ANY_LETTERS ? 0 : 1;
+        }
+        int start = literalPrefix(pattern).length();
+        IdBuffer ids = new IdBuffer();
+        int id = from;
+        WordCursor cursor = words.cursor();
+        while (id < to && ids.size() < limit) {
+            WordCursor word = cursor.moveTo(id);
+            int end = Math.min(fixed, word.length());
+            int pos = start;
+            while (pos < end && (pattern.charAt(pos) == ANY_LETTER || pattern.charAt(pos) == word.charAt(pos))) {
+                pos++;
+            }
+            if (pos < end) {
+                // the words sharing letters [0, pos) are sorted by the letter at pos
+                if (word.charAt(pos) < pattern.charAt(pos)) {
+                    id = Math.max(id + 1, words.prefixFrom(word.subSequence(0, pos) + pattern.charAt(pos)));
+                } else {
+                    id = words.prefixTo(word.subSequence(0, pos));
+                }
+                continue;
+            }
+            if (pos < fixed) {
+                // too short; the next words are longer, or differ before
+                id++;
+                continue;
+            }
+            if (star < 0) {
+                if (word.length() == fixed) {
+                    ids.add(id);
+                    id++;
+                } else {
+                    // too long, as are all the other words of that prefix
+                    id = words.prefixTo(word.subSequence(0, fixed));
+                }
+                continue;
+            }
+            if (word.length() >= minLength && matches(pattern, star, word, fixed)) {
+                ids.add(id);
+            }
+            id++;
+        }
+        return ids.toArray();
+    }
+
+    /*
+     * Whether word[w..] matches pattern[p..], backtracking to the last '*'
+     * only; linear in practice.
+     */
+    private static boolean matches(String pattern, int p, CharSequence word, int w) {
+        int star = -1;
+        int starWord = 0;
+        while (w < word.length()) {
+            if (p < pattern.length() && pattern.charAt(p) == ANY_LETTERS) {
+                star = p++;
+                starWord = w;
+            } else if (p < pattern.length()
+                    && (pattern.charAt(p) == ANY_LETTER || pattern.charAt(p) == word.charAt(w))) {
+                p++;
+                w++;
+            } else if (star >= 0) {
+                p = star + 1;
+                w = ++starWord;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == ANY_LETTERS) {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * Lower cases `pattern`, takes '.' as '?' too, and merges consecutive
+     * '*'.
+     *
+     * @param pattern  The pattern, any letter case.
+     * @return  The pattern; or null if blank, or having anything other
+     *          than letters 'a' to 'z' and wildcards.
+     */
+    static String normalize(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        String trimmed = pattern.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char ch = Character.toLowerCase(trimmed.charAt(i));
+            if (ch == '.') {
+                ch = ANY_LETTER;
+            }
+            if (ch == ANY_LETTERS && normalized.length() > 0
+                    && normalized.charAt(normalized.length() - 1) == ANY_LETTERS) {
+                continue;
+            }
+            if ((ch < 'a' || ch > 'z') && ch != ANY_LETTER && ch != ANY_LETTERS) {
+                return null;
+            }
+            normalized.append(ch);
+        }
+        return normalized.toString();
+    }
+
+}
@@ -0,0 +1,123 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Words kept as one `String` each: fastest to read, but every word costs an
+ * object header and a backing array on top of its letters.
+ */
+final class WordArray extends WordStorage {
+
+    /*
+     * Sorts after every letter, so `prefix + PAST_LETTERS` sorts after every
+     * word starting with `prefix`.
+     */
+    private static final char PAST_LETTERS = 'z' + 1;
+
+    private final String[] words;
+
+    private final List<String> list;
+
+    private final int maxLength;
+
+    /**
+     * @param words  The words, sorted, lower case 'a' to 'z' only, without
+     *               duplicates; not copied.
+     */
+    WordArray(String[] words) {
+        this.words = words;
+        this.list = Collections.unmodifiableList(Arrays.asList(words));
+        int longest = 0;
+        for (String word : words) {
+            longest = Math.max(longest, word.length());
+        }
+        this.maxLength = longest;
+    }
+
+    /**
+     * @return  The backing array; shared, do not modify.
+     */
+    String[] array() {
+        return words;
+    }
+
+    @Override
+    int size() {
+        return words.length;
+    }
+
+    @Override
+    String word(int id) {
+        return words[id];
+    }
+
+    @Override
+    int length(int id) {
+        return words[id].length();
+    }
+
+    @Override
+    int maxLength() {
+        return maxLength;
+    }
+
+    @Override
+    int decode(int id, char[] buffer) {
+        String word = words[id];
+        word.getChars(0, word.length(), buffer, 0);
+        return word.length();
+    }
+
+    @Override
+    int indexOf(CharSequence word) {
+        String key = key(word, "");
+        int id = key == null ? -1 : Arrays.binarySearch(words, key);
+        return id < 0 ? -1 : id;
+    }
+
+    @Override
+    int prefixFrom(CharSequence prefix) {
+        return insertionPoint(key(prefix, ""));
+    }
+
+    @Override
+    int prefixTo(CharSequence prefix) {
+        return insertionPoint(key(prefix, String.valueOf(PAST_LETTERS)));
+    }
+
+    @Override
+    long sizeInBytes() {
+        long bytes = 16L + 4L * words.length;
+        for (String word : words) {
+            // String object, and its array of letters
+            bytes += 24 + 16 + word.length();
+        }
+        return bytes;
+    }
+
+    @Override
+    List<String> subList(int from, int to) {
+        return list.subList(from, to);
+    }
+
+    /*
+     * The insertion point of `key`, or 0 for a null (invalid) key; callers
+     * pair it with the other bound of the same key, so the range is empty.
+     */
+    private int insertionPoint(String key) {
+        if (key == null) {
+            return 0;
+        }
+        int id = Arrays.binarySearch(words, key);
+        return id < 0 ? -(id + 1) : id;
+    }
+
+    private static String key(CharSequence word, String suffix) {
+        char[] buffer = new char[word == null ? 0 : word.length()];
+        int length = fold(word, buffer);
+        return length < 0 ? null : new String(buffer, 0, length) + suffix;
+    }
+
+}
@@ -0,0 +1,70 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Reads words of a {@link WordStorage} one at a time, for a scan, into one
+ * reusable `char[]`: the cursor itself is the current word, valid until it
+ * moves, and no `String` is created unless asked for.
+ *
+ * Moving to increasing IDs is the cheap case; front coded words are then
+ * decoded from the word before, instead of from the head of their block.
+ * A cursor is for one thread.
+ */
+class WordCursor implements CharSequence {
+
+    private final WordStorage words;
+
+    /*
+     * The letters of the current word, [0, length); of the longest word's
+     * length.
+     */
+    final char[] letters;
+
+    private int length;
+
+    WordCursor(WordStorage words) {
+        this.words = words;
+        this.letters = new char[words.maxLength()];
+    }
+
+    /**
+     * @param id  The word ID.
+     * @return  This cursor, as word `id`.
+     */
+    final WordCursor moveTo(int id) {
+        length = decode(id, letters);
+        return this;
+    }
+
+    /**
+     * Decodes word `id` into `letters`.
+     *
+     * @return  The word length.
+     */
+    int decode(int id, char[] letters) {
+        return words.decode(id, letters);
+    }
+
+    @Override
+    public final int length() {
+        return length;
+    }
+
+    @Override
+    public final char charAt(int index) {
+        return letters[index];
+    }
+
+    @Override
+    public final String subSequence(int start, int end) {
+        return new String(letters, start, end - start);
+    }
+
+    /**
+     * @return  The current word, as a new `String`.
+     */
+    @Override
+    public final String toString() {
+        return new String(letters, 0, length);
+    }
+
+}
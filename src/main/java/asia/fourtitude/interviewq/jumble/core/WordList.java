@@ -0,0 +1,91 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable list of words, viewed through a slice of word IDs.
+ *
+ * Engine results are returned as views like this one rather than copied
+ * into a new list, so a result costs one small object regardless of how
+ * many words it holds.
+ */
+final class WordList extends AbstractList<String> implements RandomAccess {
+
+    private final WordStorage words;
+
+    private final int[] ids;
+
+    private final int from;
+
+    private final int to;
+
+    /**
+     * @param words  All words, by ID.
+     * @param ids    Sorted word IDs; not copied, must not be modified.
+     * @param from   First index in `ids` (inclusive).
+     * @param to     Last index in `ids` (exclusive).
+     */
+    WordList(WordStorage words, int[] ids, int from, int to) {
+        this.words = words;
+        this.ids = ids;
+        this.from = from;
+        this.to = to;
+    }
+
+    WordList(WordStorage words, int[] ids) {
+        this(words, ids, 0, ids.length);
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= to - from) {
+            throw new IndexOutOfBoundsException("index=[" + index + "], size=[" + size() + "]");
+        }
+        return words.word(ids[from + index]);
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    /**
+     * Reads the words through one {@link WordCursor}, so front coded words
+     * are each decoded from the one before.
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+
+            private final WordCursor cursor = words.cursor();
+
+            private int index = from;
+
+            @Override
+            public boolean hasNext() {
+                return index < to;
+            }
+
+            @Override
+            public String next() {
+                if (index >= to) {
+                    throw new NoSuchElementException();
+                }
+                return cursor.moveTo(ids[index++]).toString();
+            }
+
+        };
+    }
+
+    /**
+     * @param index  The index in this list.
+     * @return  The word ID at `index`.
+     */
+    int id(int index) {
+        return ids[from + index];
+    }
+
+}
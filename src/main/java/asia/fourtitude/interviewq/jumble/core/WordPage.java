@@ -0,0 +1,56 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * One page of a word listing, and the cursor to the next page.
+ */
+public final class WordPage {
+
+    private final List<String> words;
+
+    private final String nextCursor;
+
+    public WordPage(List<String> words, String nextCursor) {
+        this.words = Collections.unmodifiableList(words);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Takes the first `limit` words of `words`; only those are held, and
+     * one more is looked at to tell whether this is the last page.
+     *
+     * @param words  The words, in order.
+     * @param limit  The most words in the page.
+     * @return  The page.
+     */
+    static WordPage first(Iterator<String> words, int limit) {
+        List<String> page = new ArrayList<>(Math.max(0, Math.min(limit, 1024)));
+        while (page.size() < limit && words.hasNext()) {
+            page.add(words.next());
+        }
+        boolean more = !page.isEmpty() && words.hasNext();
+        return new WordPage(page, more ? page.get(page.size() - 1) : null);
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    /**
+     * @return  The cursor to get the next page with, i.e. the last word of
+     *          this page; or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "words=[" + words + "], nextCursor=[" + nextCursor + "]";
+    }
+
+}
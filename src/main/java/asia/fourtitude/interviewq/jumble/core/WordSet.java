@@ -0,0 +1,141 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Case-insensitive set of words made of letters 'a' to 'z'.
+ *
+ * An open-addressing (linear probing) hash table of word IDs over the
+ * dictionary's own word array: a lookup hashes the word, then compares it
+ * with the words of the probed IDs. The set keeps no copy of any letter
+ * and no entry object per word, only the table, roughly 8 * words bytes
+ * on top of the words; and lookups do not allocate.
+ *
+ * Word IDs are the positions of the words as given to the constructor.
+ */
+final class WordSet {
+
+    /*
+     * Empty slot marker. Slots hold (word ID + 1).
+     */
+    private static final int EMPTY = 0;
+
+    /*
+     * The words, shared with the caller, not copied.
+     */
+    private final String[] words;
+
+    private final int[] slots;
+
+    private final int mask;
+
+    /**
+     * @param words  The words, lower case 'a' to 'z' only, without duplicates.
+     */
+    WordSet(String[] words) {
+        this.words = words;
+
+        // load factor <= 0.5 keeps probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(words.length, 1) * 2 - 1) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        for (int id = 0; id < words.length; id++) {
+            int slot = hash(words[id]) & mask;
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    int size() {
+        return words.length;
+    }
+
+    /**
+     * @param word  The word to look up, any letter case.
+     * @return  The word ID, or -1 if not in set.
+     */
+    int indexOf(CharSequence word) {
+        if (word == null || word.length() == 0) {
+            return -1;
+        }
+        int h = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int ch = fold(word.charAt(i));
+            if (ch < 0) {
+                return -1;
+            }
+            h = (h ^ ch) * 0x01000193;
+        }
+        int slot = mix(h) & mask;
+        int entry;
+        while ((entry = slots[slot]) != EMPTY) {
+            if (matches(entry - 1, word)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    boolean contains(CharSequence word) {
+        return indexOf(word) >= 0;
+    }
+
+    int length(int id) {
+        return words[id].length();
+    }
+
+    String word(int id) {
+        return words[id];
+    }
+
+    /**
+     * @return  Approximate heap used by this set, in bytes, besides the
+     *          words themselves.
+     */
+    long sizeInBytes() {
+        return 16L + 4L * slots.length;
+    }
+
+    private boolean matches(int id, CharSequence word) {
+        String member = words[id];
+        if (member.length() != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (member.charAt(i) != fold(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Lower-cases ASCII letters; anything else cannot be in the set.
+     */
+    private static int fold(char ch) {
+        if (ch >= 'a' && ch <= 'z') {
+            return ch;
+        }
+        if (ch >= 'A' && ch <= 'Z') {
+            return ch + ('a' - 'A');
+        }
+        return -1;
+    }
+
+    private static int hash(String word) {
+        int h = 0;
+        for (int i = 0; i < word.length(); i++) {
+            h = (h ^ word.charAt(i)) * 0x01000193;
+        }
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+}
@@ -0,0 +1,147 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * The words of a dictionary by ID: sorted, without duplicates, lower case
+ * 'a' to 'z' only.
+ *
+ * Lookups take any letter case; a key with anything other than letters
+ * 'a' to 'z' matches no word.
+ */
+abstract class WordStorage {
+
+    abstract int size();
+
+    abstract String word(int id);
+
+    abstract int length(int id);
+
+    /**
+     * @return  The length of the longest word; 0 if none.
+     */
+    abstract int maxLength();
+
+    /**
+     * Copies the letters of word `id` into `buffer`, of at least
+     * {@link #maxLength()}.
+     *
+     * @return  The word length.
+     */
+    abstract int decode(int id, char[] buffer);
+
+    /**
+     * @return  A new cursor, for one thread to scan the words with.
+     */
+    WordCursor cursor() {
+        return new WordCursor(this);
+    }
+
+    /**
+     * @return  The word ID, or -1 if not found.
+     */
+    abstract int indexOf(CharSequence word);
+
+    /**
+     * @return  The first ID of the words starting with `prefix`.
+     */
+    abstract int prefixFrom(CharSequence prefix);
+
+    /**
+     * @return  The last ID (exclusive) of the words starting with `prefix`.
+     */
+    abstract int prefixTo(CharSequence prefix);
+
+    /**
+     * @return  Approximate heap used by the words, in bytes.
+     */
+    abstract long sizeInBytes();
+
+    /**
+     * @return  Unmodifiable view of words [from, to).
+     */
+    List<String> subList(int from, int to) {
+        return new Range(this, from, to);
+    }
+
+    /**
+     * Lower-cases `key` into `buffer`.
+     *
+     * @return  The key length, or -1 if the key is null or has anything
+     *          other than letters 'a' to 'z'.
+     */
+    static int fold(CharSequence key, char[] buffer) {
+        if (key == null) {
+            return -1;
+        }
+        int length = key.length();
+        for (int i = 0; i < length; i++) {
+            char ch = key.charAt(i);
+            if (ch >= 'A' && ch <= 'Z') {
+                ch += 'a' - 'A';
+            } else if (ch < 'a' || ch > 'z') {
+                return -1;
+            }
+            buffer[i] = ch;
+        }
+        return length;
+    }
+
+    private static final class Range extends AbstractList<String> implements RandomAccess {
+
+        private final WordStorage words;
+
+        private final int from;
+
+        private final int to;
+
+        Range(WordStorage words, int from, int to) {
+            this.words = words;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("index=[" + index + "], size=[" + (to - from) + "]");
+            }
+            return words.word(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+
+                private final WordCursor cursor = words.cursor();
+
+                private int id = from;
+
+                @Override
+                public boolean hasNext() {
+                    return id < to;
+                }
+
+                @Override
+                public String next() {
+                    if (id >= to) {
+                        throw new NoSuchElementException();
+                    }
+                    return cursor.moveTo(id++).toString();
+                }
+
+            };
+        }
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package asia.fourtitude.interviewq.jumble.model;
 
+import java.util.List;
+
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
 
@@ -11,6 +13,8 @@ public class ExistsForm {
 
     private Boolean exists;
 
+    private List<String> suggestions;
+
     public String getWord() {
         return word;
     }
@@ -27,6 +31,14 @@ public class ExistsForm {
         this.exists = exists;
     }
 
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -36,6 +48,9 @@ public class ExistsForm {
         if (exists != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("exists=[").append(exists).append(']');
         }
+        if (suggestions != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("suggestions=[").append(suggestions).append(']');
+        }
         return sb.toString();
     }
 
@@ -82,6 +82,20 @@ public class GameGuessOutput {
     @JsonProperty(value = "guessed_words")
     private List<String> guessedWords;
 
+    @Schema(
+            description = "Difficulty level of the game, 1 (easiest) to 5 (hardest), if known.",
+            example = "3",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "difficulty")
+    private Integer difficulty;
+
+    @Schema(
+            description = "Remaining words close to an incorrect `guess_word`, if any.",
+            example = "[\"rake\", \"rank\"]",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "suggestions")
+    private List<String> suggestions;
+
     public String getId() {
         return id;
     }
@@ -149,6 +163,22 @@ public class GameGuessOutput {
         this.guessedWords = guessedWords;
     }
 
+    public Integer getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(Integer difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -172,6 +202,12 @@ public class GameGuessOutput {
         if (guessedWords != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("guessedWords.size=[").append(guessedWords.size()).append(']');
         }
+        if (difficulty != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("difficulty=[").append(difficulty).append(']');
+        }
+        if (suggestions != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("suggestions=[").append(suggestions).append(']');
+        }
         return sb.toString();
     }
 
@@ -0,0 +1,159 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+public class PuzzlePoolOutput {
+
+    @Schema(
+            description = "The dictionary name.",
+            example = "default",
+            requiredMode = RequiredMode.AUTO)
+    private String dictionary;
+
+    @Schema(
+            description = "The length of the original words.",
+            example = "6",
+            requiredMode = RequiredMode.AUTO)
+    private int length;
+
+    @Schema(
+            description = "The minimum length of sub words.",
+            example = "3",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "min_length")
+    private int minLength;
+
+    @Schema(
+            description = "The games ready now.",
+            example = "29",
+            requiredMode = RequiredMode.AUTO)
+    private int depth;
+
+    @Schema(
+            description = "The most games kept ready.",
+            example = "32",
+            requiredMode = RequiredMode.AUTO)
+    private int capacity;
+
+    @Schema(
+            description = "The pool is refilled once fewer games than this are ready.",
+            example = "8",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "low_water")
+    private int lowWater;
+
+    @Schema(
+            description = "The games made in background so far.",
+            example = "96",
+            requiredMode = RequiredMode.AUTO)
+    private long produced;
+
+    @Schema(
+            description = "The new games served from the pool.",
+            example = "67",
+            requiredMode = RequiredMode.AUTO)
+    private long hits;
+
+    @Schema(
+            description = "The new games made on request, the pool being empty.",
+            example = "1",
+            requiredMode = RequiredMode.AUTO)
+    private long misses;
+
+    @Schema(
+            description = "The games made per second of background work.",
+            example = "5120.5",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "refills_per_second")
+    private double refillsPerSecond;
+
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public void setMinLength(int minLength) {
+        this.minLength = minLength;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getLowWater() {
+        return lowWater;
+    }
+
+    public void setLowWater(int lowWater) {
+        this.lowWater = lowWater;
+    }
+
+    public long getProduced() {
+        return produced;
+    }
+
+    public void setProduced(long produced) {
+        this.produced = produced;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getRefillsPerSecond() {
+        return refillsPerSecond;
+    }
+
+    public void setRefillsPerSecond(double refillsPerSecond) {
+        this.refillsPerSecond = refillsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "dictionary=[" + dictionary + "], length=[" + length + "], minLength=[" + minLength + "], depth=["
+                + depth + "], produced=[" + produced + "], hits=[" + hits + "], misses=[" + misses + "]";
+    }
+
+}
@@ -0,0 +1,41 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+public class RackWordOutput {
+
+    @Schema(
+            description = "The word.",
+            example = "quiz",
+            requiredMode = RequiredMode.AUTO)
+    private String word;
+
+    @Schema(
+            description = "The sum of its tile values; letters played by blanks score 0.",
+            example = "21",
+            requiredMode = RequiredMode.AUTO)
+    private int score;
+
+    public String getWord() {
+        return word;
+    }
+
+    public void setWord(String word) {
+        this.word = word;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    @Override
+    public String toString() {
+        return "word=[" + word + "], score=[" + score + "]";
+    }
+
+}
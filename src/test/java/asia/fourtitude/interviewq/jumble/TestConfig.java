@@ -1,9 +1,13 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.util.Collections;
+
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 
+import asia.fourtitude.interviewq.jumble.core.DictionaryRegistry;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.PuzzlePool;
 
 @TestConfiguration
 public class TestConfig {
@@ -13,4 +17,14 @@ public class TestConfig {
         return new JumbleEngine();
     }
 
+    @Bean
+    public DictionaryRegistry dictionaryRegistry(JumbleEngine jumbleEngine) {
+        return new DictionaryRegistry(jumbleEngine, Collections.emptyMap());
+    }
+
+    @Bean
+    public PuzzlePool puzzlePool() {
+        return PuzzlePool.start(4, 2);
+    }
+
 }
@@ -87,6 +87,51 @@ class GameApiControllerTest {
         assertTrue(output.getGuessedWords().isEmpty(), "guessed-words");
     }
 
+    @Test
+    void givenUnknownDictionary_whenCreateNewGame_thenNotFound() throws Exception {
+        MvcResult mvcResult = this.mvc.perform(get("/api/game/new").param("dictionary", "unknown"))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        GameGuessOutput output = OM.readValue(mvcResult.getResponse().getContentAsString(),
+                GameGuessOutput.class);
+
+        assertEquals("Dictionary not found.", output.getResult(), "result");
+    }
+
+    @Test
+    void givenDifficulty_whenCreateNewGame_thenWithinLevels() throws Exception {
+        MvcResult mvcResult = this.mvc.perform(get("/api/game/new")
+                .param("min_difficulty", "2")
+                .param("max_difficulty", "3"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        GameGuessOutput output = OM.readValue(mvcResult.getResponse().getContentAsString(),
+                GameGuessOutput.class);
+
+        assertEquals("Created new game.", output.getResult(), "result");
+        assertNotNull(output.getDifficulty(), "difficulty");
+        assertTrue(output.getDifficulty() >= 2 && output.getDifficulty() <= 3, "difficulty");
+    }
+
+    @Test
+    void givenInvalidDifficulty_whenCreateNewGame_thenBadRequest() throws Exception {
+        MvcResult mvcResult = this.mvc.perform(get("/api/game/new")
+                .param("min_difficulty", "4")
+                .param("max_difficulty", "2"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        GameGuessOutput output = OM.readValue(mvcResult.getResponse().getContentAsString(),
+                GameGuessOutput.class);
+
+        assertEquals("Invalid difficulty.", output.getResult(), "result");
+
+        this.mvc.perform(get("/api/game/new").param("max_difficulty", "6"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void givenMissingId_whenPlayGame_thenInvalidId() throws Exception {
         /*
@@ -73,6 +73,12 @@ class RootControllerTest {
                 .andExpect(content().string(containsString("<p>The number of palindrome words: <span>61</span></p>")));
     }
 
+    @Test
+    void givenUnknownDictionary_whenVisitPalindrome_thenNotFound() throws Exception {
+        this.mockMvc.perform(get("/palindrome").param("dictionary", "unknown\r\nforged"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void givenExistWord_whenExecExists_thenExist() throws Exception {
         String word = "qwerty";
@@ -0,0 +1,91 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AnagramPhrasesTest {
+
+    final Dictionary dictionary = Dictionary.of(Arrays.asList(
+            "dirt", "dirty", "dormitory", "dry", "moor", "roomy", "room", "rot", "tidy", "toy", "try"));
+
+    List<String> phrases(String letters, int minLength, int maxWords, int limit) {
+        List<String> phrases = new ArrayList<>();
+        for (int[] ids : dictionary.phraseIds(letters, minLength, maxWords, limit)) {
+            List<String> words = new ArrayList<>();
+            for (int id : ids) {
+                words.add(dictionary.word(id));
+            }
+            phrases.add(String.join(" ", words));
+        }
+        return phrases;
+    }
+
+    @Test
+    void givenLetters_thenPhrasesUsingAllOfThem() {
+        assertEquals(Arrays.asList("dormitory", "dirty moor", "dirty room", "roomy dirt"),
+                phrases("Dormitory", 3, 3, 10), "dormitory");
+        assertEquals(Arrays.asList("dormitory", "dirty moor", "dirty room", "roomy dirt"),
+                phrases("dirty room", 4, 2, 10), "dirty room");
+        assertEquals(Arrays.asList("dormitory"), phrases("dormitory", 3, 1, 10), "maxWords=1");
+        assertEquals(Arrays.asList("dormitory", "dirty moor"), phrases("dormitory", 3, 3, 2), "limit=2");
+        assertEquals(Arrays.asList("toy try"), phrases("ytotry", 3, 3, 10), "ytotry");
+    }
+
+    @Test
+    void givenInvalidLetters_thenNone() {
+        assertTrue(phrases("dormitory", 3, 3, 0).isEmpty(), "limit=0");
+        assertTrue(phrases("dormitoryx", 3, 3, 10).isEmpty(), "left over x");
+        assertTrue(phrases("dorm-itory", 3, 3, 10).isEmpty(), "not a-z");
+        assertTrue(phrases("dormitorydormitorydormitoryxyzw", 3, 3, 10).isEmpty(), "more than 30 letters");
+        assertTrue(phrases(null, 3, 3, 10).isEmpty(), "null");
+    }
+
+    @Test
+    void givenLongLetters_thenFirstPhrasesOfFullSearch() {
+        Dictionary words = Dictionary.getDefault();
+        String letters = "determinationsarefun";
+        List<int[]> all = words.phraseIds(letters, 3, 3, 1000);
+        List<int[]> first = words.phraseIds(letters, 3, 3, 50);
+        assertEquals(50, first.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(all.get(i), first.get(i), "phrase " + i);
+            assertArrayEquals(LetterCounts.count(letters), letterCounts(words, first.get(i)), "phrase " + i);
+        }
+    }
+
+    static int[] letterCounts(Dictionary words, int[] phrase) {
+        int[] counts = new int[LetterCounts.LETTERS];
+        for (int id : phrase) {
+            int[] wordCounts = LetterCounts.count(words.word(id));
+            for (int letter = 0; letter < counts.length; letter++) {
+                counts[letter] += wordCounts[letter];
+            }
+        }
+        return counts;
+    }
+
+    @Test
+    void givenStepBudget_thenFirstPhrasesOfFullSearch() {
+        Dictionary words = Dictionary.getDefault();
+        WordArray array = new WordArray(words.words().toArray(new String[0]));
+        int[] letters = LetterCounts.count("determinationsarefun");
+        int[] candidates = words.subWordIds(letters, 3);
+        List<int[]> all = new AnagramPhrases(array, letters, candidates, 3, 1000).search();
+        List<int[]> some = new AnagramPhrases(array, letters, candidates, 3, 1000, 20_000).search();
+        assertEquals(1000, all.size(), "within MAX_STEPS");
+        assertTrue(some.size() < all.size(), "stopped: " + some.size());
+        for (int i = 0; i < some.size(); i++) {
+            assertArrayEquals(all.get(i), some.get(i), "phrase " + i);
+        }
+
+        long start = System.nanoTime();
+        words.phraseIds("abcdefghijklmnopqrstuvwxyzabcd", 3, 5, 10);
+        assertTrue(System.nanoTime() - start < 30_000_000_000L, "30 letters, few phrases");
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Compares per-call latency of the shared {@link Dictionary} snapshot
+ * against re-reading classpath "words.txt" on every call.
+ *
+ * Not a unit test; run it directly, e.g. from the IDE or with
+ * "mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=asia.fourtitude.interviewq.jumble.core.DictionaryBenchmark".
+ */
+public class DictionaryBenchmark {
+
+    private static final int WARMUP = 20;
+
+    private static final int ITERATIONS = 200;
+
+    static boolean scanExists(String word) {
+        try (InputStream inputStream = new ClassPathResource(Dictionary.DEFAULT_FILE_NAME).getInputStream();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+            return reader.lines().anyMatch(line -> line.equalsIgnoreCase(word));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static List<String> scanPrefix(String prefix) {
+        try (InputStream inputStream = new ClassPathResource(Dictionary.DEFAULT_FILE_NAME).getInputStream();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+            return reader.lines().filter(line -> line.toLowerCase().startsWith(prefix)).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static double microsPerCall(Supplier<?> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /*
+     * What each set adds on top of the words, which the dictionary holds
+     * anyway.
+     */
+    static void footprint(String[] words) {
+        long before = usedHeap();
+        Set<String> hashSet = new HashSet<>();
+        for (String word : words) {
+            hashSet.add(word);
+        }
+        long hashSetBytes = usedHeap() - before;
+
+        before = usedHeap();
+        WordSet wordSet = new WordSet(words);
+        long wordSetBytes = usedHeap() - before;
+
+        System.out.printf("footprint %,9d words: HashSet<String> ~%,d KB, WordSet ~%,d KB (estimate %,d KB)%n",
+                words.length, hashSetBytes / 1024, wordSetBytes / 1024, wordSet.sizeInBytes() / 1024);
+        if (hashSet.size() != wordSet.size()) {
+            throw new IllegalStateException("size mismatch");
+        }
+    }
+
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        JumbleEngine engine = new JumbleEngine(Dictionary.getDefault());
+        System.out.printf("load once       : %10.1f us (%d words)%n",
+                (System.nanoTime() - start) / 1000.0, engine.getDictionary().size());
+
+        System.out.printf("%-16s %14s %14s%n", "operation", "scan-per-call", "snapshot");
+        System.out.printf("%-16s %11.1f us %11.1f us%n", "exists(zygote)",
+                microsPerCall(() -> scanExists("zygote")),
+                microsPerCall(() -> engine.exists("zygote")));
+        System.out.printf("%-16s %11.1f us %11.1f us%n", "prefix(pen)",
+                microsPerCall(() -> scanPrefix("pen")),
+                microsPerCall(() -> engine.wordsMatchingPrefix("pen")));
+
+        Dictionary dictionary = engine.getDictionary();
+        footprint(dictionary.words().toArray(new String[0]));
+        String[] synthetic = new String[2_000_000];
+        for (int i = 0; i < synthetic.length; i++) {
+            synthetic[i] = WordSetTest.syntheticWord(i);
+        }
+        footprint(synthetic);
+    }
+
+}
@@ -0,0 +1,90 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+class DictionaryImageTest {
+
+    static final long CHECKSUM = 42L;
+
+    static byte[] image(Dictionary dictionary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DictionaryImage.write(dictionary, CHECKSUM, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void givenImage_thenSameDictionaryAsParsed() throws IOException {
+        // "assesses" has 5 's', "aaaaaaaaaaaaaaaaa" more than a signature lane holds
+        Dictionary parsed = Dictionary.of(Arrays.asList(
+                "level", "eye", "deed", "assesses", "sass", "ass", "aaaaaaaaaaaaaaaaa", "a", "zygote"));
+        Dictionary read = DictionaryImage.read(ByteBuffer.wrap(image(parsed)), CHECKSUM);
+
+        assertNotNull(read, "image");
+        assertEquals(parsed.words(), read.words(), "words");
+        assertEquals(parsed.palindromes(), read.palindromes(), "palindromes");
+        assertTrue(read.contains("ZYGOTE"), "word=ZYGOTE");
+        assertEquals(4, read.randomWord(4).length(), "length=4");
+        int[] counts = LetterCounts.count("assesses");
+        assertArrayEquals(parsed.enumerateSubWordIds(counts, 1), read.enumerateSubWordIds(counts, 1), "enumerate");
+        assertArrayEquals(parsed.scanSubWordIds(counts, 1), read.scanSubWordIds(counts, 1), "scan");
+        counts = LetterCounts.count("aaaaaaaaaaaaaaaaaa");
+        assertArrayEquals(parsed.subWordIds(counts, 1), read.subWordIds(counts, 1), "unpackable");
+    }
+
+    @Test
+    void givenOffHeapRead_thenWordsUsedInPlace() throws IOException {
+        Dictionary parsed = Dictionary.of(Arrays.asList("level", "eye", "deed", "assesses", "sass", "zygote"));
+        byte[] image = image(parsed);
+        ByteBuffer direct = ByteBuffer.allocateDirect(image.length);
+        ((Buffer) direct.put(image)).flip();
+
+        for (ByteBuffer in : new ByteBuffer[] { direct, ByteBuffer.wrap(image) }) {
+            Dictionary read = DictionaryImage.read(in, CHECKSUM, true);
+            assertTrue(read.isOffHeap(), "offHeap");
+            assertEquals(parsed.words(), read.words(), "words");
+            assertEquals(parsed.palindromes(), read.palindromes(), "palindromes");
+            assertEquals(5, read.indexOf("ZYGOTE"), "word=ZYGOTE");
+            assertEquals(Arrays.asList("sass"), read.wordsWithPrefix("sa", 10), "prefix=sa");
+        }
+    }
+
+    @Test
+    void givenEmptyDictionary_thenEmptyImage() throws IOException {
+        Dictionary read = DictionaryImage.read(
+                ByteBuffer.wrap(image(Dictionary.of(Collections.emptyList()))), CHECKSUM);
+        assertEquals(0, read.size(), "size");
+    }
+
+    @Test
+    void givenOtherChecksum_thenNoDictionary() throws IOException {
+        byte[] image = image(Dictionary.of(Arrays.asList("eye", "level")));
+        assertNull(DictionaryImage.read(ByteBuffer.wrap(image), CHECKSUM + 1), "checksum");
+        assertNull(DictionaryImage.read(ByteBuffer.wrap(new byte[0]), CHECKSUM), "empty");
+    }
+
+    @Test
+    void givenTruncatedImage_thenFails() throws IOException {
+        byte[] image = image(Dictionary.of(Arrays.asList("eye", "level")));
+        ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(image, image.length - 4));
+        assertThrows(BufferUnderflowException.class, () -> DictionaryImage.read(truncated, CHECKSUM));
+    }
+
+    @Test
+    void givenWordListName_thenImageName() {
+        assertEquals("words.bin", DictionaryImage.imageName("words.txt"));
+        assertEquals("dict/words.bin", DictionaryImage.imageName("dict/words.txt"));
+        assertEquals("words.bin", DictionaryImage.imageName("words"));
+        assertEquals("dict.v2/words.bin", DictionaryImage.imageName("dict.v2/words"));
+    }
+
+}
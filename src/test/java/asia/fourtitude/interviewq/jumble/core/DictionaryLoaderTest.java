@@ -0,0 +1,76 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DictionaryLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    /*
+     * Line endings of every kind, blank and invalid lines, duplicates,
+     * upper case, non-ASCII (the Kelvin sign lower-cases to 'k') and no
+     * final line break.
+     */
+    static final String TEXT = "zebra\r\napple\n\nBanana\r  cherry  \n\t\n\r\nPan-da\napple\nZEBRA\n"
+            + "Kite\ncaf\u00e9\nkite\n\u212Aiwi\nx\nx\nx\nyak\ncherry\nabc1\naardvark";
+
+    String[] load(String text, int chunks) throws IOException {
+        Path file = dir.resolve("words.txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return DictionaryLoader.sortedWords(channel, chunks);
+        }
+    }
+
+    static String[] parse(String text) throws IOException {
+        return Dictionary.load(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)))
+                .words().toArray(new String[0]);
+    }
+
+    @Test
+    void givenAnyChunks_thenSameWordsAsStream() throws IOException {
+        String[] expected = parse(TEXT);
+        assertEquals(Arrays.asList("aardvark", "apple", "banana", "cherry", "kite", "kiwi", "x", "yak", "zebra"),
+                Arrays.asList(expected));
+        // more chunks than lines too, so some are empty
+        for (int chunks = 1; chunks <= 80; chunks++) {
+            assertArrayEquals(expected, load(TEXT, chunks), "chunks=" + chunks);
+        }
+    }
+
+    @Test
+    void givenEmptyFile_thenNoWords() throws IOException {
+        assertEquals(0, load("", 1).length, "empty");
+        assertEquals(0, load("\n\r\n", 4).length, "blank");
+    }
+
+    @Test
+    void givenLargeFile_thenSameDictionaryAsStream() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 300_000; i > 0; i--) {
+            sb.append(WordSetTest.syntheticWord(i % 250_000)).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        String text = sb.toString();
+        Path file = dir.resolve("large.txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        Dictionary loaded = Dictionary.fromFile(file);
+        assertEquals(250_000, loaded.size(), "size");
+        assertArrayEquals(parse(text), loaded.words().toArray(new String[0]), "words");
+        assertArrayEquals(parse(text), load(text, 7), "chunks=7");
+    }
+
+}
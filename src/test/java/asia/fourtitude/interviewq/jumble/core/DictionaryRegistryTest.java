@@ -0,0 +1,81 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DictionaryRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    JumbleEngine defaultEngine;
+
+    DictionaryRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path kids = Files.write(dir.resolve("kids.txt"), Arrays.asList("cat", "dog", "zzzyx"), StandardCharsets.UTF_8);
+        Path tournament = Files.write(dir.resolve("tournament.txt"), Arrays.asList("cat", "qi", "zzzyx"),
+                StandardCharsets.UTF_8);
+        Map<String, String> locations = new LinkedHashMap<>();
+        locations.put("kids", kids.toString());
+        locations.put("tournament", tournament.toString());
+        locations.put("missing", dir.resolve("missing.txt").toString());
+        defaultEngine = new JumbleEngine(Dictionary.of(Arrays.asList("cat", "dog", "qi")));
+        registry = new DictionaryRegistry(defaultEngine, locations);
+    }
+
+    @Test
+    void givenName_thenItsEngine() {
+        assertEquals(Arrays.asList(DictionaryRegistry.DEFAULT_NAME, "kids", "tournament", "missing"),
+                Arrays.asList(registry.getNames().toArray()), "names");
+        assertSame(defaultEngine, registry.getEngine(null), "name=null");
+        assertSame(defaultEngine, registry.getEngine(" "), "name=<BLANK>");
+        assertSame(defaultEngine, registry.getEngine(DictionaryRegistry.DEFAULT_NAME), "name=default");
+        assertNull(registry.getEngine("unknown"), "name=unknown");
+
+        assertTrue(registry.getEngine("kids").exists("dog"), "kids: dog");
+        assertFalse(registry.getEngine("kids").exists("qi"), "kids: qi");
+        assertTrue(registry.getEngine(" tournament ").exists("qi"), "tournament: qi");
+        assertEquals(0, registry.getEngine("missing").getDictionary().size(), "missing");
+    }
+
+    @Test
+    void givenCommonWords_thenSharedInstances() {
+        Dictionary base = defaultEngine.getDictionary();
+        Dictionary kids = registry.getEngine("kids").getDictionary();
+        Dictionary tournament = registry.getEngine("tournament").getDictionary();
+
+        assertSame(base.word(base.indexOf("cat")), kids.word(kids.indexOf("cat")), "cat in kids");
+        assertSame(base.word(base.indexOf("cat")), tournament.word(tournament.indexOf("cat")), "cat in tournament");
+        assertSame(kids.word(kids.indexOf("zzzyx")), tournament.word(tournament.indexOf("zzzyx")), "zzzyx");
+        assertSame(kids, registry.getEngine("kids").getDictionary(), "loaded once");
+    }
+
+    @Test
+    void givenDefaultOffHeap_thenSharedBetweenOthersOnly() {
+        Dictionary offHeap = Dictionary.of(Arrays.asList("cat", "dog", "qi")).offHeap();
+        Map<String, String> locations = new LinkedHashMap<>();
+        locations.put("kids", dir.resolve("kids.txt").toString());
+        locations.put("tournament", dir.resolve("tournament.txt").toString());
+        registry = new DictionaryRegistry(new JumbleEngine(offHeap), locations);
+        Dictionary kids = registry.getEngine("kids").getDictionary();
+        Dictionary tournament = registry.getEngine("tournament").getDictionary();
+
+        assertEquals(Arrays.asList("cat", "dog", "zzzyx"), kids.words(), "kids");
+        assertSame(kids.word(kids.indexOf("cat")), tournament.word(tournament.indexOf("cat")), "cat");
+        assertSame(kids.word(kids.indexOf("zzzyx")), tournament.word(tournament.indexOf("zzzyx")), "zzzyx");
+    }
+
+}
@@ -0,0 +1,110 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.Test;
+
+class DictionaryTest {
+
+    final Dictionary dictionary = Dictionary.of(Arrays.asList(
+            "low", "lowly", "lye", "ole", "owe", "owl", "well", "welly", "woe", "yell", "yellow", "yeow", "yew",
+            "yowl"));
+
+    int[] ids(String... words) {
+        int[] ids = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            ids[i] = dictionary.indexOf(words[i]);
+            assertTrue(ids[i] >= 0, words[i]);
+        }
+        return ids;
+    }
+
+    @Test
+    void givenWord_thenSubWordIdsWithoutItself() {
+        int[] ids = dictionary.subWordIds("Yellow", 4);
+        assertArrayEquals(ids("lowly", "well", "welly", "yell", "yeow", "yowl"), ids, "yellow");
+        assertEquals(Arrays.asList("lowly", "well", "welly", "yell", "yeow", "yowl"), dictionary.wordsOf(ids));
+        assertEquals(0, dictionary.subWordIds("xyz", 1).length, "xyz");
+    }
+
+    @Test
+    void givenCriteria_thenSearchIds() {
+        assertArrayEquals(ids("yell", "yeow", "yowl"), dictionary.searchIds('y', null, 4), "y...");
+        assertArrayEquals(ids("yellow", "yeow", "yew"), dictionary.searchIds('Y', 'w', null), "y..w");
+        assertArrayEquals(ids("low", "lowly", "lye"), dictionary.searchIds('l', null, null), "l...");
+        assertArrayEquals(ids("lye", "ole", "owe", "woe"), dictionary.searchIds(null, 'e', null), "...e");
+
+        assertEquals(0, dictionary.searchIds(null, null, null).length, "no criteria");
+        assertEquals(0, dictionary.searchIds('1', null, null).length, "first=1");
+        assertEquals(0, dictionary.searchIds(null, 'é', null).length, "last=<NON_ASCII>");
+        assertEquals(0, dictionary.searchIds('y', null, 0).length, "length=0");
+    }
+
+    @Test
+    void givenCursor_thenSearchIdsAfterIt() {
+        assertArrayEquals(ids("yellow", "yeow", "yew"), toArray(dictionary.searchIds('y', 'w', null, null)), "y..w");
+        assertArrayEquals(ids("yeow", "yew"), toArray(dictionary.searchIds('y', 'w', null, "YELLOW")), "y..w;yellow");
+        assertArrayEquals(ids("yeow", "yowl"), toArray(dictionary.searchIds('y', null, 4, "yelp")), "y...;yelp");
+        assertArrayEquals(ids("ole", "owe", "woe"), toArray(dictionary.searchIds(null, 'e', 3, "lz")), "...e;lz");
+        assertArrayEquals(ids("yell", "yeow", "yowl"), toArray(dictionary.searchIds(null, null, 4, "well")), "length=4;well");
+        assertEquals(0, toArray(dictionary.searchIds(null, null, null, null)).length, "no criteria");
+        assertEquals(0, toArray(dictionary.searchIds('y', null, 0, null)).length, "length=0");
+    }
+
+    @Test
+    void givenCursor_thenPrefixIdsAfterIt() {
+        assertArrayEquals(ids("yell", "yellow", "yeow", "yew"), toArray(dictionary.prefixIds("ye", null)), "ye");
+        assertArrayEquals(ids("yeow", "yew"), toArray(dictionary.prefixIds("ye", "yellow")), "ye;yellow");
+        assertArrayEquals(ids("yell", "yellow", "yeow", "yew"), toArray(dictionary.prefixIds("ye", "a")), "ye;a");
+        assertEquals(0, toArray(dictionary.prefixIds("ye", "yz")).length, "ye;yz");
+        assertEquals(0, toArray(dictionary.prefixIds("x", null)).length, "x");
+    }
+
+    static int[] toArray(PrimitiveIterator.OfInt ids) {
+        IdBuffer buffer = new IdBuffer();
+        ids.forEachRemaining((int id) -> buffer.add(id));
+        return buffer.toArray();
+    }
+
+    @Test
+    void givenSearchIds_thenCallerOwnsThem() {
+        int[] ids = dictionary.searchIds(null, null, 4);
+        Arrays.fill(ids, -1);
+        assertArrayEquals(ids("well", "yell", "yeow", "yowl"), dictionary.searchIds(null, null, 4), "length=4");
+    }
+
+    @Test
+    void givenLetters_thenAnagramIds() {
+        assertArrayEquals(ids("owe", "woe"), dictionary.anagramIds("EOW"), "eow");
+        assertArrayEquals(ids("low", "owl"), dictionary.anagramIds("owl"), "owl");
+        assertArrayEquals(ids("yellow"), dictionary.anagramIds("lowyel"), "lowyel");
+        assertEquals(0, dictionary.anagramIds("lowl").length, "lowl");
+        assertEquals(0, dictionary.anagramIds("ow-").length, "ow-");
+        assertEquals(0, dictionary.anagramIds(null).length, "null");
+    }
+
+    @Test
+    void givenLength_thenAnagramGroupIds() {
+        assertEquals(2, dictionary.anagramGroupIds(3, 10).size(), "length=3");
+        assertArrayEquals(ids("low", "owl"), dictionary.anagramGroupIds(3, 10).get(0), "low");
+        assertArrayEquals(ids("owe", "woe"), dictionary.anagramGroupIds(3, 10).get(1), "owe");
+        assertEquals(1, dictionary.anagramGroupIds(3, 1).size(), "limit=1");
+        assertEquals(0, dictionary.anagramGroupIds(4, 10).size(), "length=4");
+    }
+
+    @Test
+    void givenPrefix_thenConsecutiveIds() {
+        int[] range = dictionary.prefixRange("OW");
+        assertArrayEquals(new int[] { dictionary.indexOf("owe"), dictionary.indexOf("owl") + 1 }, range, "ow");
+        assertEquals(Arrays.asList("owe", "owl"), dictionary.words().subList(range[0], range[1]), "ow");
+
+        for (String prefix : new String[] { null, "x", "ow-", "yellows" }) {
+            range = dictionary.prefixRange(prefix);
+            assertEquals(range[0], range[1], "prefix=" + prefix);
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DictionaryWatcherTest {
+
+    static final Dictionary FALLBACK = Dictionary.of(Collections.singletonList("fallback"));
+
+    @TempDir
+    Path dir;
+
+    static void write(Path file, String... words) throws IOException {
+        // write aside and move in, as a deployment would
+        Path temp = Files.createTempFile(file.getParent(), "words", ".tmp");
+        Files.write(temp, Arrays.asList(words), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Test
+    void givenFile_thenLoadedAndReloaded() throws IOException {
+        Path file = dir.resolve("words.txt");
+        write(file, "apple", "banana");
+        try (DictionaryWatcher watcher = DictionaryWatcher.start(file, FALLBACK)) {
+            JumbleEngine engine = new JumbleEngine(watcher);
+            assertTrue(engine.exists("apple"), "word=apple");
+            assertFalse(engine.exists("cherry"), "word=cherry");
+
+            write(file, "banana", "cherry");
+            assertTrue(watcher.reload(), "reload");
+            assertFalse(engine.exists("apple"), "word=apple");
+            assertTrue(engine.exists("cherry"), "word=cherry");
+        }
+    }
+
+    @Test
+    void givenMissingFile_thenKeepsDictionary() throws IOException {
+        Path file = dir.resolve("missing.txt");
+        try (DictionaryWatcher watcher = DictionaryWatcher.start(file, FALLBACK)) {
+            assertSame(FALLBACK, watcher.get(), "fallback");
+            assertFalse(watcher.reload(), "reload");
+            assertSame(FALLBACK, watcher.get(), "fallback");
+        }
+    }
+
+    @Test
+    void givenFileChanged_thenReloadedInBackground() throws IOException, InterruptedException {
+        Path file = dir.resolve("words.txt");
+        write(file, "apple");
+        try (DictionaryWatcher watcher = DictionaryWatcher.start(file, FALLBACK)) {
+            Dictionary before = watcher.get();
+            write(file, "apple", "cherry");
+            // some platforms poll for changes every few seconds
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (watcher.get() == before && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(watcher.get().contains("cherry"), "word=cherry");
+            assertTrue(before.contains("apple") && !before.contains("cherry"), "snapshot unchanged");
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FrontCodedWordsTest {
+
+    static final String[] WORDS = {
+            "a", "aa", "aardvark", "aardwolf", "ab", "aback", "abacus", "abaft", "abandon", "abandoned",
+            "abandoning", "abandonment", "abandons", "abase", "abased", "abasement", "abases", "abash",
+            "abashed", "abate", "b", "ba", "bab", "babble", "level", "panda", "pandas",
+            "pneumonoultramicroscopicsilicovolcanoconiosis", "zygote" };
+
+    static final String[] PREFIXES = {
+            "", "a", "aa", "aar", "ab", "aban", "abandon", "abase", "abash", "abat", "abb", "b", "bab",
+            "babbles", "c", "pand", "pneumono", "z", "zygotes", "zz", "ABA", "Pan" };
+
+    final WordArray array = new WordArray(WORDS);
+
+    final FrontCodedWords coded = new FrontCodedWords(WORDS);
+
+    @Test
+    void givenWordId_thenExpectSameWord() {
+        assertEquals(WORDS.length, coded.size(), "size");
+        for (int id = 0; id < WORDS.length; id++) {
+            assertEquals(WORDS[id], coded.word(id), "id=" + id);
+            assertEquals(WORDS[id].length(), coded.length(id), "id=" + id);
+        }
+        assertEquals(Arrays.asList(WORDS), coded.subList(0, WORDS.length), "subList");
+    }
+
+    @Test
+    void givenCursor_thenExpectSameWords() {
+        WordCursor cursor = coded.cursor();
+        for (int id = 0; id < WORDS.length; id++) {
+            assertEquals(WORDS[id], cursor.moveTo(id).toString(), "id=" + id);
+        }
+        // backwards, skipping, and across blocks
+        for (int id : new int[] { 27, 3, 2, 2, 19, 16, 17, 28, 0, 15, 16 }) {
+            assertEquals(WORDS[id], cursor.moveTo(id).toString(), "id=" + id);
+            assertEquals(WORDS[id].length(), cursor.length(), "id=" + id);
+        }
+        assertEquals("abandon", coded.cursor().moveTo(9).subSequence(0, 7), "subSequence");
+        assertEquals(WORDS[27].length(), coded.maxLength(), "maxLength");
+    }
+
+    @Test
+    void givenMemberWord_thenExpectItsId() {
+        for (int id = 0; id < WORDS.length; id++) {
+            assertEquals(id, coded.indexOf(WORDS[id]), WORDS[id]);
+            assertEquals(id, coded.indexOf(WORDS[id].toUpperCase()), WORDS[id].toUpperCase());
+        }
+    }
+
+    @Test
+    void givenNonMemberWord_thenExpectNotFound() {
+        for (String word : new String[] { null, "", "aaa", "abandone", "abc", "c", "zygotes", "zz", "pan-da",
+                "é", "pneumonoultramicroscopicsilicovolcanoconiosiss" }) {
+            assertEquals(-1, coded.indexOf(word), "word=" + word);
+            assertEquals(-1, array.indexOf(word), "word=" + word);
+        }
+    }
+
+    @Test
+    void givenPrefix_thenExpectSameRangeAsArray() {
+        for (String prefix : PREFIXES) {
+            assertEquals(array.prefixFrom(prefix), coded.prefixFrom(prefix), "from prefix=" + prefix);
+            assertEquals(array.prefixTo(prefix), coded.prefixTo(prefix), "to prefix=" + prefix);
+        }
+        assertEquals(coded.prefixFrom("a-"), coded.prefixTo("a-"), "prefix=a-");
+        assertEquals(coded.prefixFrom(null), coded.prefixTo(null), "prefix=null");
+    }
+
+    @Test
+    void givenEmptyWords_thenExpectNothingFound() {
+        FrontCodedWords empty = new FrontCodedWords(new String[0]);
+        assertEquals(0, empty.size(), "size");
+        assertEquals(-1, empty.indexOf("a"), "word=a");
+        assertEquals(0, empty.prefixFrom("a"), "prefix=a");
+        assertEquals(0, empty.prefixTo("a"), "prefix=a");
+    }
+
+    @Test
+    void givenManyWords_thenExpectAllFound() {
+        String[] words = new String[100_000];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = WordSetTest.syntheticWord(i);
+        }
+        Arrays.sort(words);
+        FrontCodedWords large = new FrontCodedWords(words);
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(i, large.indexOf(words[i]), words[i]);
+        }
+        assertTrue(large.sizeInBytes() < new WordArray(words).sizeInBytes() / 4, "sizeInBytes");
+    }
+
+    @Test
+    void givenFrontCodedDictionary_thenSameResultsAsArray() {
+        List<String> words = Arrays.asList("level", "eye", "deed", "assesses", "sass", "ass", "sea", "seas",
+                "aaaaaaaaaaaaaaaaa", "a", "zygote", "Abacus");
+        Dictionary parsed = Dictionary.of(words);
+        Dictionary coded = Dictionary.frontCoded(words);
+
+        assertNotNull(parsed.prefixTrie(), "trie");
+        assertNull(coded.prefixTrie(), "trie");
+        assertEquals(parsed.words(), coded.words(), "words");
+        assertEquals(parsed.palindromes(), coded.palindromes(), "palindromes");
+        assertEquals(parsed.indexOf("ZYGOTE"), coded.indexOf("ZYGOTE"), "word=ZYGOTE");
+        assertFalse(coded.contains("zygotes"), "word=zygotes");
+        for (String prefix : new String[] { "", "a", "se", "sea", "x", "A-" }) {
+            assertEquals(parsed.wordsWithPrefix(prefix, 10), coded.wordsWithPrefix(prefix, 10), "prefix=" + prefix);
+        }
+        assertEquals(Collections.emptyList(), coded.wordsWithPrefix("a", 0), "limit=0");
+        assertEquals(1, coded.wordsWithPrefix("sea", 1).size(), "limit=1");
+        int[] counts = LetterCounts.count("assesses");
+        assertArrayEquals(parsed.subWordIds(counts, 1), coded.subWordIds(counts, 1), "sub words");
+        counts = LetterCounts.count("aaaaaaaaaaaaaaaaaa");
+        assertArrayEquals(parsed.subWordIds(counts, 1), coded.subWordIds(counts, 1), "unpackable");
+
+        JumbleEngine parsedEngine = new JumbleEngine(parsed);
+        JumbleEngine codedEngine = new JumbleEngine(coded);
+        assertEquals(parsedEngine.searchWords('s', 's', null), codedEngine.searchWords('s', 's', null), "search");
+        assertEquals(parsedEngine.searchWords(null, null, 3), codedEngine.searchWords(null, null, 3), "search");
+        assertEquals(parsedEngine.generateSubWords("seas", 2), codedEngine.generateSubWords("seas", 2), "sub words");
+    }
+
+}
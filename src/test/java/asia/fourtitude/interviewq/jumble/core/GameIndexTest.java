@@ -0,0 +1,162 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class GameIndexTest {
+
+    static final long CHECKSUM = 42L;
+
+    static final Dictionary WORDS = Dictionary.of(Arrays.asList("listen", "silent", "enlist", "tinsel", "list",
+            "silt", "lens", "nest", "sent", "ten", "net", "tin", "lit", "yellow", "low", "owl", "yell", "lowly"));
+
+    static byte[] file(GameIndex games) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        games.write(CHECKSUM, out);
+        return out.toByteArray();
+    }
+
+    static void assertSameGames(Dictionary dictionary, GameIndex games, int minLength) {
+        int[] originals = dictionary.lengthIndex().bucket(6);
+        assertEquals(originals.length, games.size(), "size");
+        for (int i = 0; i < games.size(); i++) {
+            assertEquals(originals[i], games.original(i), "original");
+            String original = dictionary.word(originals[i]);
+            assertArrayEquals(dictionary.subWordIds(original, minLength), games.subWordIds(i), original);
+        }
+    }
+
+    @Test
+    void givenIds_thenPackedAndUnpacked() {
+        int[] ids = { 0, 1, 127, 128, 300, 16_384, 2_000_000, Integer.MAX_VALUE };
+        byte[] packed = GameIndex.pack(ids);
+        assertEquals(1 + 1 + 1 + 1 + 2 + 2 + 3 + 5, packed.length, "packed");
+        assertEquals(0, GameIndex.pack(new int[0]).length, "empty");
+    }
+
+    @Test
+    void givenDictionary_thenSameSubWordsAsComputed() {
+        GameIndex games = GameIndex.build(WORDS, 6, 3);
+        assertSameGames(WORDS, games, 3);
+        assertTrue(games.matches(WORDS, 6, 3), "matches");
+        assertFalse(games.matches(WORDS, 6, 4), "minLength=4");
+        assertFalse(games.matches(WORDS, 5, 3), "length=5");
+        assertFalse(games.matches(Dictionary.of(Arrays.asList("listen")), 6, 3), "other dictionary");
+
+        Dictionary dictionary = Dictionary.getDefault();
+        assertSameGames(dictionary, GameIndex.build(dictionary, 6, 3), 3);
+    }
+
+    @Test
+    void givenFile_thenSameGamesAsBuilt() throws IOException {
+        GameIndex read = GameIndex.read(ByteBuffer.wrap(file(GameIndex.build(WORDS, 6, 3))), CHECKSUM);
+        assertNotNull(read, "games");
+        assertSameGames(WORDS, read, 3);
+        assertTrue(read.matches(WORDS, 6, 3), "matches");
+    }
+
+    @Test
+    void givenOtherChecksum_thenNoGames() throws IOException {
+        byte[] file = file(GameIndex.build(WORDS, 6, 3));
+        assertNull(GameIndex.read(ByteBuffer.wrap(file), CHECKSUM + 1), "checksum");
+        assertNull(GameIndex.read(ByteBuffer.wrap(new byte[0]), CHECKSUM), "empty");
+    }
+
+    @Test
+    void givenTruncatedFile_thenFails() throws IOException {
+        byte[] file = file(GameIndex.build(WORDS, 6, 3));
+        ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(file, file.length - 1));
+        assertThrows(BufferUnderflowException.class, () -> GameIndex.read(truncated, CHECKSUM));
+    }
+
+    @Test
+    void givenPrecomputed_thenGamesReadFromIndex() {
+        Dictionary dictionary = Dictionary.of(WORDS.words());
+        assertNull(dictionary.gameIndex(6, 3), "before");
+        GameIndex games = dictionary.precomputedGames(6, 3);
+        assertEquals(5, games.size(), "originals");
+        assertSame(games, dictionary.gameIndex(6, 3), "after");
+        assertNull(dictionary.gameIndex(6, 4), "minLength=4");
+        assertNotNull(dictionary.precomputedGames(6, 4), "minLength=4 precomputed");
+        assertSame(games, dictionary.gameIndex(6, 3), "kept beside minLength=4");
+        assertSame(games, dictionary.precomputedGames(6, 3), "not computed again");
+
+        JumbleEngine engine = new JumbleEngine(dictionary);
+        for (int i = 0; i < 20; i++) {
+            GameState state = engine.createGameState(6, 3);
+            assertEquals(new TreeSet<>(engine.generateSubWords(state.getOriginal(), 3)),
+                    new TreeSet<>(state.getSubWords().keySet()), state.getOriginal());
+        }
+    }
+
+    @Test
+    void givenLetters_thenRareLettersScoreHigher() {
+        double[] rarity = GameIndex.letterRarity(Dictionary.getDefault());
+        assertTrue(rarity['q' - 'a'] > rarity['z' - 'a'] && rarity['z' - 'a'] > rarity['e' - 'a'], "q > z > e");
+        GameIndex games = GameIndex.build(WORDS, 6, 3);
+        for (int i = 0; i < games.size(); i++) {
+            assertEquals(games.subWordIds(i).length, games.subWordCount(i), "count");
+            assertTrue(games.rarity(i) > 0, "rarity");
+        }
+    }
+
+    @Test
+    void givenLevels_thenEqualSizesHarderHigher() {
+        GameIndex games = GameIndex.build(Dictionary.getDefault(), 6, 3);
+        int[] sizes = new int[GameIndex.LEVELS + 1];
+        double[] subWords = new double[GameIndex.LEVELS + 1];
+        for (int i = 0; i < games.size(); i++) {
+            int level = games.level(i);
+            assertTrue(level >= 1 && level <= GameIndex.LEVELS, "level");
+            sizes[level]++;
+            subWords[level] += games.subWordCount(i);
+        }
+        for (int level = 1; level <= GameIndex.LEVELS; level++) {
+            assertEquals(games.size() / GameIndex.LEVELS, sizes[level], 1, "level=" + level);
+        }
+        // harder levels have fewer sub words on average
+        assertTrue(subWords[1] / sizes[1] > subWords[GameIndex.LEVELS] / sizes[GameIndex.LEVELS], "sub words");
+
+        for (int i = 0; i < 1000; i++) {
+            int level = games.level(games.pickRandom(2, 3));
+            assertTrue(level == 2 || level == 3, "level=" + level);
+        }
+        assertEquals(-1, GameIndex.build(WORDS, 9, 3).pickRandom(1, GameIndex.LEVELS), "none");
+    }
+
+    @Test
+    void givenDifficulty_thenGameOfThatLevel() {
+        Dictionary dictionary = Dictionary.of(Dictionary.getDefault().words());
+        JumbleEngine engine = new JumbleEngine(dictionary);
+        assertEquals(0, engine.createGameState(6, 3).getDifficulty(), "not precomputed");
+        for (int level = 1; level <= GameIndex.LEVELS; level++) {
+            GameState state = engine.createGameState(6, 3, level, level);
+            assertEquals(level, state.getDifficulty(), "difficulty");
+            assertEquals(new TreeSet<>(engine.generateSubWords(state.getOriginal(), 3)),
+                    new TreeSet<>(state.getSubWords().keySet()), state.getOriginal());
+        }
+        assertNotNull(dictionary.gameIndex(6, 3), "precomputed on first use");
+        int difficulty = engine.createGameState(6, 3).getDifficulty();
+        assertTrue(difficulty >= 1 && difficulty <= GameIndex.LEVELS, "difficulty");
+
+        assertThrows(IllegalArgumentException.class, () -> engine.createGameState(6, 3, 0, 2), "min=0");
+        assertThrows(IllegalArgumentException.class, () -> engine.createGameState(6, 3, 3, 2), "min > max");
+        assertThrows(IllegalArgumentException.class, () -> engine.createGameState(6, 3, 1, 6), "max=6");
+        assertThrows(IllegalArgumentException.class, () -> engine.createGameState(25, 3, 1, 5), "length=25");
+    }
+
+    @Test
+    void givenFileName_thenGamesName() {
+        assertEquals("words.games", GameIndex.gamesName("words.txt"));
+        assertEquals("dir/words.games", GameIndex.gamesName("dir/words"));
+    }
+
+}
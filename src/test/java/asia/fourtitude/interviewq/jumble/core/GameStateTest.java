@@ -0,0 +1,74 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class GameStateTest {
+
+    GameState newGameState() {
+        return new GameState("yellow", "lowyel", Arrays.asList("low", "lowly", "owl", "well", "yell", "yew"));
+    }
+
+    @Test
+    void givenGuesses_thenGuessedByLengthThenAlphabetically() {
+        GameState state = newGameState();
+        assertTrue(state.updateGuessWord("yell"), "yell");
+        assertTrue(state.updateGuessWord("owl"), "owl");
+        assertTrue(state.updateGuessWord("lowly"), "lowly");
+        assertTrue(state.updateGuessWord("low"), "low");
+        assertTrue(state.updateGuessWord("low"), "low again");
+        assertFalse(state.updateGuessWord("Low"), "Low");
+        assertFalse(state.updateGuessWord("yellow"), "yellow");
+        assertFalse(state.updateGuessWord(null), "null");
+
+        assertEquals(Arrays.asList("low", "owl", "yell", "lowly"), state.getGuessedWords());
+        assertEquals(Boolean.TRUE, state.getSubWords().get("owl"), "owl");
+        assertEquals(Boolean.FALSE, state.getSubWords().get("yew"), "yew");
+        assertNull(state.getSubWords().get("yellow"), "yellow");
+    }
+
+    @Test
+    void givenSubWords_thenMapViewSorted() {
+        GameState state = newGameState();
+        state.updateGuessWord("well");
+        Map<String, Boolean> expected = new LinkedHashMap<>();
+        for (String word : Arrays.asList("low", "lowly", "owl", "well", "yell", "yew")) {
+            expected.put(word, "well".equals(word));
+        }
+        assertEquals(expected, state.getSubWords());
+        assertEquals(Arrays.asList(expected.keySet().toArray()), Arrays.asList(state.getSubWords().keySet().toArray()));
+        assertThrows(UnsupportedOperationException.class, () -> state.getSubWords().put("yellow", Boolean.TRUE));
+    }
+
+    @Test
+    void givenMap_thenSameAsList() {
+        Map<String, Boolean> subWords = new LinkedHashMap<>();
+        subWords.put("yew", Boolean.FALSE);
+        subWords.put("owl", Boolean.TRUE);
+        subWords.put("low", Boolean.FALSE);
+        GameState state = new GameState("yellow", "lowyel", subWords);
+
+        assertEquals(Arrays.asList("low", "owl", "yew"), Arrays.asList(state.getSubWords().keySet().toArray()));
+        assertEquals(Arrays.asList("owl"), state.getGuessedWords());
+        assertTrue(state.updateGuessWord("yew"), "yew");
+        assertEquals(Arrays.asList("owl", "yew"), state.getGuessedWords());
+    }
+
+    @Test
+    void givenIncorrectGuess_thenRemainingWordsClosestFirst() {
+        GameState state = newGameState();
+
+        assertEquals(Arrays.asList("yell", "yew"), state.suggestions("yelw", 1, 10));
+        assertEquals(Arrays.asList("yell", "yew", "well"), state.suggestions("YELW", 2, 10));
+        assertEquals(Arrays.asList("yell"), state.suggestions("yelw", 2, 1));
+        assertTrue(state.updateGuessWord("yew"), "yew");
+        assertEquals(Arrays.asList("yell", "well"), state.suggestions("yelw", 2, 10));
+        assertEquals(Arrays.asList(), state.suggestions("yel-w", 2, 10));
+    }
+
+}
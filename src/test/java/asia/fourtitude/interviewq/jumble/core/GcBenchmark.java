@@ -0,0 +1,116 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compares garbage collection pauses while a dictionary is held with its
+ * words as Strings, front coded, and off heap, at the size of "words.txt"
+ * and at 5M synthetic words.
+ *
+ * For each, it times full collections (which trace everything live), then
+ * serves random exists, prefix and sub-word lookups for a while and reports
+ * the young collections they caused.
+ *
+ * Not a unit test; run it directly with a heap large enough for 5M Strings
+ * and the collector used in production, e.g. "mvn test-compile exec:exec
+ * -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args='-Xmx3g -XX:+UseG1GC -cp %classpath
+ * asia.fourtitude.interviewq.jumble.core.GcBenchmark'".
+ */
+public class GcBenchmark {
+
+    private static final int FULL_GCS = 5;
+
+    private static final long LOAD_MILLIS = 5_000;
+
+    private static final int QUERIES = 10_000;
+
+    static long[] collections() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(bean.getCollectionCount(), 0);
+            millis += Math.max(bean.getCollectionTime(), 0);
+        }
+        return new long[] { count, millis };
+    }
+
+    static double fullGcMillis() {
+        System.gc();
+        long start = System.nanoTime();
+        for (int i = 0; i < FULL_GCS; i++) {
+            System.gc();
+        }
+        return (System.nanoTime() - start) / 1e6 / FULL_GCS;
+    }
+
+    static void measure(String name, int size, String[] queries, Dictionary dictionary) {
+        dictionary.buildIndexes();
+        JumbleEngine engine = new JumbleEngine(dictionary);
+        double fullGc = fullGcMillis();
+
+        long[] before = collections();
+        long calls = 0;
+        long end = System.currentTimeMillis() + LOAD_MILLIS;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.currentTimeMillis() < end) {
+            String word = queries[random.nextInt(queries.length)];
+            engine.exists(word);
+            engine.wordsMatchingPrefix(word.substring(0, Math.min(2, word.length())), 20).size();
+            if (word.length() <= 8) {
+                engine.generateSubWords(word, 3).size();
+            }
+            calls += 1;
+        }
+        long[] after = collections();
+        long count = after[0] - before[0];
+        long millis = after[1] - before[1];
+
+        System.out.printf("%-12s %,9d words: full GC %8.1f ms, under load %,6d GCs %6d ms (%.2f ms each), %,d calls%n",
+                name, size, fullGc, count, millis, count == 0 ? 0.0 : (double) millis / count, calls);
+    }
+
+    /*
+     * `source` gives a fresh word array for each storage, so that the only
+     * word Strings left live are those the storage keeps.
+     */
+    static void compare(Supplier<String[]> source) {
+        for (String storage : new String[] { "strings", "front-coded", "off-heap" }) {
+            Function<String[], WordStorage> factory;
+            if ("strings".equals(storage)) {
+                factory = WordArray::new;
+            } else if ("front-coded".equals(storage)) {
+                factory = FrontCodedWords::new;
+            } else {
+                factory = OffHeapWords::new;
+            }
+            String[] words = source.get();
+            Arrays.sort(words);
+            String[] queries = new String[QUERIES];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = words[ThreadLocalRandom.current().nextInt(words.length)];
+            }
+            Dictionary dictionary = new Dictionary(factory.apply(words));
+            int size = words.length;
+            words = null;
+            measure(storage, size, queries, dictionary);
+        }
+    }
+
+    public static void main(String[] args) {
+        compare(() -> Dictionary.fromClassPath(Dictionary.DEFAULT_FILE_NAME).words().toArray(new String[0]));
+        compare(() -> {
+            String[] synthetic = new String[5_000_000];
+            for (int i = 0; i < synthetic.length; i++) {
+                synthetic[i] = WordSetTest.syntheticWord(i);
+            }
+            return synthetic;
+        });
+    }
+
+}
@@ -2,7 +2,11 @@ package asia.fourtitude.interviewq.jumble.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +35,15 @@ class JumbleEngineTest {
         assertEquals(61, engine.retrievePalindromeWords().size(), "retrievePalindromeWords.size()");
     }
 
+    @Test
+    void givenRepeatedCalls_thenSamePalindromeWords() {
+        Collection<String> words = engine.retrievePalindromeWords();
+        assertSame(words, engine.retrievePalindromeWords());
+        assertTrue(words.contains("level"), "level");
+        assertFalse(words.contains("a"), "a");
+        assertThrows(UnsupportedOperationException.class, () -> words.add("abc"));
+    }
+
     @Test
     void randomWord() {
         assertNotNull(engine.pickOneRandomWord(null), "length=null");
@@ -86,6 +99,64 @@ class JumbleEngineTest {
         assertEquals(engine.wordsMatchingPrefix("PeN").size(), engine.wordsMatchingPrefix("pen").size(), "prefix=CASE_INSENSITIVE");
     }
 
+    @Test
+    void givenValidPrefixAndLimit_thenAtMostLimitWords() {
+        assertEquals(10, engine.wordsMatchingPrefix("pen", 10).size(), "prefix=pen;limit=10");
+        assertEquals(96, engine.wordsMatchingPrefix("pen", 1000).size(), "prefix=pen;limit=1000");
+        assertEquals(0, engine.wordsMatchingPrefix("pen", 0).size(), "prefix=pen;limit=0");
+        assertEquals("pendulum", engine.wordsMatchingPrefix("PENDULUM", 1).iterator().next(), "prefix=PENDULUM;limit=1");
+    }
+
+    @Test
+    void givenPrefixPages_thenSameAsUnpaged() {
+        List<String> words = new ArrayList<>();
+        WordPage page = engine.wordsMatchingPrefix("con", null, 100);
+        words.addAll(page.getWords());
+        while (page.getNextCursor() != null) {
+            assertEquals(100, page.getWords().size(), "cursor=" + page.getNextCursor());
+            page = engine.wordsMatchingPrefix("con", page.getNextCursor(), 100);
+            words.addAll(page.getWords());
+        }
+        assertEquals(new ArrayList<>(engine.wordsMatchingPrefix("con")), words, "prefix=con");
+        assertEquals(words, drain(engine.iterateWordsMatchingPrefix("CON", null)), "prefix=CON");
+
+        assertEquals("pendulums", engine.wordsMatchingPrefix("pen", "penduluM", 2).getWords().get(0), "cursor=penduluM");
+        assertEquals("pendulous", engine.wordsMatchingPrefix("pen", "pendulo", 2).getWords().get(0), "cursor=pendulo");
+        assertEquals(0, engine.wordsMatchingPrefix("pen", "zzz", 2).getWords().size(), "cursor=zzz");
+        assertNull(engine.wordsMatchingPrefix("pendulum", null, 2).getNextCursor(), "prefix=pendulum;limit=2");
+        assertFalse(engine.iterateWordsMatchingPrefix(" ", null).hasNext(), "prefix=<BLANK>");
+    }
+
+    @Test
+    void givenSearchPages_thenSameAsUnpaged() {
+        Character[] chars = { null, 'a', 'Q', 'z' };
+        Integer[] lengths = { null, 1, 5, 12 };
+        for (Character startChar : chars) {
+            for (Character endChar : chars) {
+                for (Integer length : lengths) {
+                    List<String> expected = new ArrayList<>(engine.searchWords(startChar, endChar, length));
+                    String criteria = "start=" + startChar + ";end=" + endChar + ";length=" + length;
+                    assertEquals(expected, drain(engine.iterateSearchWords(startChar, endChar, length, null)), criteria);
+
+                    List<String> words = new ArrayList<>();
+                    String cursor = null;
+                    do {
+                        WordPage page = engine.searchWords(startChar, endChar, length, cursor, 97);
+                        words.addAll(page.getWords());
+                        cursor = page.getNextCursor();
+                    } while (cursor != null);
+                    assertEquals(expected, words, criteria + ";limit=97");
+                }
+            }
+        }
+    }
+
+    static List<String> drain(Iterator<String> words) {
+        List<String> list = new ArrayList<>();
+        words.forEachRemaining(list::add);
+        return list;
+    }
+
     @Test
     void givenAllEmptyAndOrInvalidInputs_thenEmptyList() {
         assertEquals(0, engine.searchWords(null, null, null).size(), "start=null;end=null;length=null");
@@ -153,6 +224,28 @@ class JumbleEngineTest {
         assertEquals(0, engine.searchWords('K', 'q', null).size(), "start=K;end=q;length=null");
     }
 
+    @Test
+    void givenAnyCriteriaCombination_thenSameAsFilteringAllWords() {
+        Character[] chars = { null, 'a', 'Q', 'z' };
+        Integer[] lengths = { null, 1, 5, 12 };
+        for (Character startChar : chars) {
+            for (Character endChar : chars) {
+                for (Integer length : lengths) {
+                    if (startChar == null && endChar == null && length == null) {
+                        continue;
+                    }
+                    List<String> expected = engine.getDictionary().words().stream()
+                            .filter(word -> startChar == null || word.charAt(0) == Character.toLowerCase(startChar))
+                            .filter(word -> endChar == null || word.endsWith(String.valueOf(Character.toLowerCase(endChar))))
+                            .filter(word -> length == null || word.length() == length)
+                            .collect(Collectors.toList());
+                    String criteria = "start=" + startChar + ";end=" + endChar + ";length=" + length;
+                    assertEquals(expected, new ArrayList<>(engine.searchWords(startChar, endChar, length)), criteria);
+                }
+            }
+        }
+    }
+
     @Test
     void whenInvalidWord_thenEmptyList() {
         assertEquals(0, engine.generateSubWords(null, null).size(), "word=null;len=null");
@@ -174,6 +267,23 @@ class JumbleEngineTest {
         assertEquals(0, engine.generateSubWords("fusion", 5).size(), "word=fusion;len=5");
     }
 
+    @Test
+    void givenMixedCaseWord_thenSameSubWordsAsLowerCase() {
+        assertEquals(new ArrayList<>(engine.generateSubWords("fusion", 3)),
+                new ArrayList<>(engine.generateSubWords("FuSiOn", 3)), "word=FuSiOn");
+        assertTrue(engine.generateSubWords("listen", 6).contains("silent"), "word=listen;len=6");
+        assertFalse(engine.generateSubWords("listen", 6).contains("listen"), "word=listen;len=6");
+    }
+
+    @Test
+    void givenAnyBaseWord_whenEnumerateOrScan_thenSameSubWords() {
+        Dictionary dictionary = engine.getDictionary();
+        for (String word : new String[] { "yellow", "fusion", "pendulums", "uncharacteristically" }) {
+            int[] counts = LetterCounts.count(word);
+            assertArrayEquals(dictionary.scanSubWordIds(counts, 3), dictionary.enumerateSubWordIds(counts, 3), "word=" + word);
+        }
+    }
+
     @Test
     void givenValidInput_whenCreateGameState_thenExpectSuccess() {
         assertNotNull(engine.createGameState(3, null), "length=3;minLength=null");
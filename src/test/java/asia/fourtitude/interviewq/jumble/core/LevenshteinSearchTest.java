@@ -0,0 +1,90 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LevenshteinSearchTest {
+
+    static final String[] WORDS = {
+            "bell", "below", "belt", "halo", "held", "hell", "hello", "helm", "help", "hero", "receive", "recipe",
+            "relieve", "yellow" };
+
+    @Test
+    void givenMisspelling_thenClosestFirst() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList(WORDS));
+
+        assertEquals(Arrays.asList("halo", "held", "hell", "hello", "helm", "help", "hero"),
+                dictionary.wordsOf(dictionary.suggestionIds("helo", 1, 10)), "helo");
+        assertEquals(Arrays.asList("halo", "held", "hell", "hello", "helm", "help", "hero", "bell", "below", "belt"),
+                dictionary.wordsOf(dictionary.suggestionIds("HELO", 2, 10)), "HELO");
+        assertEquals(Arrays.asList("relieve", "receive", "recipe"),
+                dictionary.wordsOf(dictionary.suggestionIds("recieve", 2, 3)), "recieve");
+        assertEquals(Arrays.asList("bell", "held", "hello"),
+                dictionary.wordsOf(dictionary.suggestionIds("hell", 1, 3)), "not the word itself");
+        assertEquals(0, dictionary.suggestionIds("he1lo", 2, 10).length, "not a-z");
+        assertEquals(0, dictionary.suggestionIds("xyzzy", 2, 10).length, "none");
+        assertEquals(Arrays.asList("yellow"),
+                dictionary.wordsOf(dictionary.suggestionIds("yellowed", 2, 10)), "longer than every word");
+        assertEquals(0, dictionary.suggestionIds("yellowish", 2, 10).length, "too long");
+        char[] letters = new char[100_000];
+        Arrays.fill(letters, 'a');
+        assertEquals(0, dictionary.suggestionIds(new String(letters), 2, 10).length, "far too long");
+        assertEquals(WORDS.length - 1, dictionary.suggestionIds("hell", Integer.MAX_VALUE, 100).length,
+                "any distance");
+    }
+
+    @Test
+    void givenRandomQueries_thenSameAsComparingEveryWord() {
+        Dictionary dictionary = Dictionary.getDefault();
+        List<String> words = dictionary.words();
+        Dictionary coded = new Dictionary(new FrontCodedWords(words.toArray(new String[0])));
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            StringBuilder query = new StringBuilder(words.get(random.nextInt(words.size())));
+            int position = random.nextInt(query.length());
+            switch (i % 3) {
+            case 0:
+                query.setCharAt(position, (char) ('a' + random.nextInt(26)));
+                break;
+            case 1:
+                query.deleteCharAt(position);
+                break;
+            default:
+                query.insert(position, (char) ('a' + random.nextInt(26)));
+            }
+            int maxDistance = 1 + i % 2;
+            List<String> expected = closest(words, query.toString(), maxDistance);
+            assertEquals(expected, dictionary.wordsOf(dictionary.suggestionIds(query, maxDistance, 1000)),
+                    query.toString());
+            assertEquals(expected, coded.wordsOf(coded.suggestionIds(query, maxDistance, 1000)), query.toString());
+        }
+    }
+
+    static List<String> closest(List<String> words, String query, int maxDistance) {
+        List<String> closest = new ArrayList<>();
+        for (int distance = 1; distance <= maxDistance; distance++) {
+            for (String word : words) {
+                if (LevenshteinSearch.distance(word, query) == distance) {
+                    closest.add(word);
+                }
+            }
+        }
+        return closest;
+    }
+
+    @Test
+    void givenWords_thenDistance() {
+        assertEquals(0, LevenshteinSearch.distance("kitten", "kitten"));
+        assertEquals(3, LevenshteinSearch.distance("kitten", "sitting"));
+        assertEquals(2, LevenshteinSearch.distance("recieve", "receive"));
+        assertEquals(5, LevenshteinSearch.distance("", "hello"));
+        assertEquals(5, LevenshteinSearch.distance("hello", ""));
+    }
+
+}
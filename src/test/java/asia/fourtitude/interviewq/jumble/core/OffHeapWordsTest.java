@@ -0,0 +1,71 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapWordsTest {
+
+    static final String[] WORDS = FrontCodedWordsTest.WORDS;
+
+    final WordArray array = new WordArray(WORDS);
+
+    final OffHeapWords offHeap = new OffHeapWords(WORDS);
+
+    @Test
+    void givenWordId_thenExpectSameWord() {
+        assertEquals(WORDS.length, offHeap.size(), "size");
+        for (int id = 0; id < WORDS.length; id++) {
+            assertEquals(WORDS[id], offHeap.word(id), "id=" + id);
+            assertEquals(WORDS[id].length(), offHeap.length(id), "id=" + id);
+            assertEquals(id, offHeap.indexOf(WORDS[id].toUpperCase()), WORDS[id].toUpperCase());
+        }
+        assertEquals(Arrays.asList(WORDS), offHeap.subList(0, WORDS.length), "subList");
+    }
+
+    @Test
+    void givenNonMemberWord_thenExpectNotFound() {
+        for (String word : new String[] { null, "", "aaa", "abandone", "c", "zygotes", "zz", "pan-da" }) {
+            assertEquals(-1, offHeap.indexOf(word), "word=" + word);
+        }
+        OffHeapWords empty = new OffHeapWords(new String[0]);
+        assertEquals(-1, empty.indexOf("a"), "word=a");
+        assertEquals(0, empty.prefixTo("a"), "prefix=a");
+    }
+
+    @Test
+    void givenPrefix_thenExpectSameRangeAsArray() {
+        for (String prefix : FrontCodedWordsTest.PREFIXES) {
+            assertEquals(array.prefixFrom(prefix), offHeap.prefixFrom(prefix), "from prefix=" + prefix);
+            assertEquals(array.prefixTo(prefix), offHeap.prefixTo(prefix), "to prefix=" + prefix);
+        }
+        assertEquals(offHeap.prefixFrom(null), offHeap.prefixTo(null), "prefix=null");
+    }
+
+    @Test
+    void givenOffHeapDictionary_thenSameResultsAsHeap() {
+        List<String> words = Arrays.asList("level", "eye", "deed", "assesses", "sass", "ass", "sea", "seas",
+                "aaaaaaaaaaaaaaaaa", "a", "zygote");
+        Dictionary heap = Dictionary.of(words);
+        Dictionary offHeapDictionary = heap.offHeap();
+
+        assertFalse(heap.isOffHeap(), "heap");
+        assertTrue(offHeapDictionary.isOffHeap(), "offHeap");
+        assertSame(offHeapDictionary, offHeapDictionary.offHeap(), "offHeap twice");
+        assertEquals(heap.words(), offHeapDictionary.words(), "words");
+        assertEquals(heap.palindromes(), offHeapDictionary.palindromes(), "palindromes");
+        assertEquals(heap.wordsWithPrefix("se", 10), offHeapDictionary.wordsWithPrefix("se", 10), "prefix=se");
+        int[] counts = LetterCounts.count("assesses");
+        assertArrayEquals(heap.subWordIds(counts, 1), offHeapDictionary.subWordIds(counts, 1), "sub words");
+
+        JumbleEngine heapEngine = new JumbleEngine(heap);
+        JumbleEngine offHeapEngine = new JumbleEngine(offHeapDictionary);
+        assertTrue(offHeapEngine.exists("Zygote"), "word=Zygote");
+        assertEquals(heapEngine.searchWords('s', null, null), offHeapEngine.searchWords('s', null, null), "search");
+        assertEquals(heapEngine.generateSubWords("seas", 2), offHeapEngine.generateSubWords("seas", 2), "sub words");
+    }
+
+}
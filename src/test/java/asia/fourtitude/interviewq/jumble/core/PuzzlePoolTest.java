@@ -0,0 +1,90 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class PuzzlePoolTest {
+
+    static final Dictionary WORDS = Dictionary.of(Arrays.asList("banana", "bandana", "nab", "ban", "ana", "nan"));
+
+    static PuzzlePool.Stats stats(PuzzlePool pool) {
+        List<PuzzlePool.Stats> stats = pool.getStats();
+        assertEquals(1, stats.size(), "stats");
+        return stats.get(0);
+    }
+
+    static void awaitDepth(PuzzlePool pool, int depth) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10_000;
+        while (stats(pool).getDepth() < depth) {
+            assertTrue(System.currentTimeMillis() < end, "timeout refilling pool");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void givenFirstTake_thenCreatedInlineAndRefilled() throws InterruptedException {
+        JumbleEngine engine = new JumbleEngine(WORDS);
+        try (PuzzlePool pool = PuzzlePool.start(4, 2)) {
+            assertTrue(pool.getStats().isEmpty(), "stats");
+            GameState state = pool.take(engine, 6, 3);
+            assertEquals("banana", state.getOriginal(), "original");
+            assertEquals(new TreeSet<>(Arrays.asList("ana", "ban", "nab", "nan")),
+                    new TreeSet<>(state.getSubWords().keySet()), "sub words");
+            assertEquals(1, stats(pool).getMisses(), "misses");
+
+            awaitDepth(pool, 4);
+            GameState pooled = pool.take(engine, 6, 3);
+            assertEquals("banana", pooled.getOriginal(), "original");
+            assertNotSame(state, pooled, "state");
+            PuzzlePool.Stats stats = stats(pool);
+            assertEquals(1, stats.getHits(), "hits");
+            assertEquals(1, stats.getMisses(), "misses");
+            assertEquals(3, stats.getDepth(), "depth");
+            assertEquals(4, stats.getProduced(), "produced");
+            assertSame(engine, stats.getEngine(), "engine");
+            assertEquals(6, stats.getLength(), "length");
+            assertEquals(3, stats.getMinLength(), "minLength");
+            assertTrue(stats.getRefillsPerSecond() > 0, "refillsPerSecond");
+        }
+    }
+
+    @Test
+    void givenDictionaryReloaded_thenStaleGamesDropped() throws InterruptedException {
+        AtomicReference<Dictionary> dictionary = new AtomicReference<>(WORDS);
+        JumbleEngine engine = new JumbleEngine(dictionary::get);
+        try (PuzzlePool pool = PuzzlePool.start(4, 4)) {
+            pool.take(engine, 6, 3);
+            awaitDepth(pool, 4);
+
+            dictionary.set(Dictionary.of(Arrays.asList("cherry", "her", "rye")));
+            GameState state = pool.take(engine, 6, 3);
+            assertEquals("cherry", state.getOriginal(), "original");
+            assertEquals(2, stats(pool).getMisses(), "misses");
+            awaitDepth(pool, 4);
+            assertEquals("cherry", pool.take(engine, 6, 3).getOriginal(), "original");
+        }
+    }
+
+    @Test
+    void givenInvalidLength_thenThrowsAndNotPooled() {
+        JumbleEngine engine = new JumbleEngine(WORDS);
+        try (PuzzlePool pool = PuzzlePool.start(4, 2)) {
+            assertThrows(IllegalArgumentException.class, () -> pool.take(engine, 6, 7), "minLength");
+            assertTrue(pool.getStats().isEmpty(), "stats");
+        }
+    }
+
+    @Test
+    void givenInvalidCapacity_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> PuzzlePool.start(0, 0), "capacity=0");
+        assertThrows(IllegalArgumentException.class, () -> PuzzlePool.start(4, 5), "lowWater=5");
+        assertThrows(IllegalArgumentException.class, () -> PuzzlePool.start(4, -1), "lowWater=-1");
+    }
+
+}
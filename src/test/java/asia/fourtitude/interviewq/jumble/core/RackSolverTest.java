@@ -0,0 +1,46 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RackSolverTest {
+
+    final Dictionary dictionary = Dictionary.of(Arrays.asList(
+            "a", "at", "eat", "jet", "quiz", "tea", "zap", "zeta", "zit"));
+
+    List<String> solve(String rack, int limit) {
+        List<String> words = new ArrayList<>();
+        for (RackWord word : dictionary.rackWords(rack, limit)) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    @Test
+    void givenRack_thenBestWordsByScore() {
+        assertEquals(Arrays.asList("zeta=13", "zit=12", "eat=3", "tea=3", "at=2"), solve("TIZEA", 10), "tizea");
+        assertEquals(Arrays.asList("zeta=13", "zit=12"), solve("tizea", 2), "limit=2");
+        assertEquals(Arrays.asList("eat=3", "tea=3"), solve("eat", 2), "alphabetically on same score");
+    }
+
+    @Test
+    void givenBlanks_thenBlankLettersScoreZero() {
+        assertEquals(Arrays.asList("quiz=21", "zit=12", "at=1"), solve("qiz?t", 4), "qiz?t");
+        assertEquals(Arrays.asList("quiz=10", "zap=10", "zeta=10", "zit=10"), solve("z??.", 4), "z??.");
+        assertEquals(Arrays.asList("at=0"), solve("??", 1), "??");
+    }
+
+    @Test
+    void givenInvalidRack_thenNone() {
+        assertTrue(solve("zit-", 10).isEmpty(), "not a-z");
+        assertTrue(solve("abcdefghijklmnop", 10).isEmpty(), "more than 15 tiles");
+        assertTrue(solve("tizea", 0).isEmpty(), "limit=0");
+        assertTrue(solve(null, 10).isEmpty(), "null");
+    }
+
+}
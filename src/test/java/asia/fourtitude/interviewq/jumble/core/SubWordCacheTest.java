@@ -0,0 +1,88 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class SubWordCacheTest {
+
+    static final Dictionary WORDS = Dictionary.of(Arrays.asList("listen", "silent", "enlist", "tinsel", "list",
+            "silt", "lens", "nest", "sent", "ten", "net", "tin", "lit", "yellow", "low", "owl", "yell"));
+
+    @Test
+    void givenAnagrams_thenOneResultSharedWithoutEachWord() {
+        SubWordCache cache = new SubWordCache(10);
+        JumbleEngine engine = new JumbleEngine(() -> WORDS, cache);
+        JumbleEngine uncached = new JumbleEngine(WORDS);
+
+        assertEquals(uncached.generateSubWords("listen", 3), engine.generateSubWords("listen", 3), "listen");
+        assertEquals(uncached.generateSubWords("silent", 3), engine.generateSubWords("silent", 3), "silent");
+        assertEquals(uncached.generateSubWords("LISTEN", 3), engine.generateSubWords("LISTEN", 3), "LISTEN");
+        assertFalse(engine.generateSubWords("silent", 3).contains("silent"), "silent");
+        assertTrue(engine.generateSubWords("silent", 3).contains("listen"), "silent");
+        assertEquals(1, cache.getMisses(), "misses");
+        assertEquals(4, cache.getHits(), "hits");
+
+        assertEquals(uncached.generateSubWords("silent", 4), engine.generateSubWords("silent", 4), "minLength=4");
+        assertEquals(2, cache.getMisses(), "misses");
+        assertEquals(2, cache.getSize(), "size");
+        assertSame(cache, engine.getSubWordCache(), "cache");
+    }
+
+    @Test
+    void givenFull_thenLeastFrequentEvicted() {
+        SubWordCache cache = new SubWordCache(SubWordCache.SAMPLE_SIZE);
+        JumbleEngine engine = new JumbleEngine(() -> WORDS, cache);
+        for (int i = 0; i < 100; i++) {
+            engine.generateSubWords("yellow", 3);
+        }
+        // 20 other signatures, used once each
+        for (char ch = 'a'; ch < 'u'; ch++) {
+            engine.generateSubWords("list" + ch, 3);
+        }
+        assertEquals(SubWordCache.SAMPLE_SIZE, cache.getSize(), "size");
+        assertEquals(21 - SubWordCache.SAMPLE_SIZE, cache.getEvictions(), "evictions");
+
+        long hits = cache.getHits();
+        engine.generateSubWords("yellow", 3);
+        assertEquals(hits + 1, cache.getHits(), "yellow still cached");
+    }
+
+    @Test
+    void givenDictionaryReloaded_thenNotFromCache() {
+        AtomicReference<Dictionary> dictionary = new AtomicReference<>(WORDS);
+        SubWordCache cache = new SubWordCache(10);
+        JumbleEngine engine = new JumbleEngine(dictionary::get, cache);
+        assertTrue(engine.generateSubWords("listen", 3).contains("list"), "list");
+
+        dictionary.set(Dictionary.of(Arrays.asList("listen", "ten")));
+        assertEquals(Arrays.asList("ten"), engine.generateSubWords("listen", 3), "reloaded");
+        assertEquals(2, cache.getMisses(), "misses");
+        assertEquals(1, cache.getSize(), "size");
+    }
+
+    @Test
+    void givenGameCreated_thenSubWordsCached() {
+        SubWordCache cache = new SubWordCache(10);
+        JumbleEngine engine = new JumbleEngine(() -> WORDS, cache);
+        GameState state = engine.createGameState(6, 3);
+        assertEquals(1, cache.getMisses(), "misses");
+        assertEquals(new JumbleEngine(WORDS).generateSubWords(state.getOriginal(), 3).size(),
+                state.getSubWords().size(), "sub words");
+    }
+
+    @Test
+    void givenInvalidCapacity_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new SubWordCache(0), "capacity=0");
+    }
+
+    @Test
+    void givenCounts_thenSignatureSorted() {
+        assertEquals("eilnst", SubWordCache.signature(LetterCounts.count("Silent")), "Silent");
+        assertEquals("", SubWordCache.signature(LetterCounts.count("")), "empty");
+    }
+
+}
@@ -0,0 +1,95 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares sub word generation strategies across base word lengths 3 to 15:
+ * the previous split/indexOf check of every word, enumerating letter
+ * sub-multisets through {@link SignatureIndex}, and checking the words of
+ * usable lengths directly.
+ *
+ * Not a unit test; run it directly, like {@link DictionaryBenchmark}.
+ */
+public class SubWordsBenchmark {
+
+    private static final int SAMPLES = 50;
+
+    private static final int MIN_LENGTH = 3;
+
+    private static final int ROUNDS = 5;
+
+    /*
+     * The per-word check that JumbleEngine#generateSubWords used before.
+     */
+    static int legacy(List<String> words, String word) {
+        int found = 0;
+        for (String searchWord : words) {
+            if (searchWord.length() < MIN_LENGTH || searchWord.equalsIgnoreCase(word)) {
+                continue;
+            }
+            StringBuilder wordCopy = new StringBuilder(word);
+            boolean isMatch = true;
+            for (String searchCharacter : searchWord.split("")) {
+                int findIndex = wordCopy.indexOf(searchCharacter);
+                if (findIndex == -1) {
+                    isMatch = false;
+                    break;
+                }
+                wordCopy.deleteCharAt(findIndex);
+            }
+            if (isMatch) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /*
+     * Best of several rounds, so that JIT warm-up does not count.
+     */
+    static double microsPerWord(List<String> samples, ToIntFunction<String> call) {
+        double best = Double.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (String word : samples) {
+                sink += call.applyAsInt(word);
+            }
+            best = Math.min(best, (System.nanoTime() - start) / 1000.0 / samples.size());
+        }
+        if (sink < 0) {
+            throw new IllegalStateException();
+        }
+        return best;
+    }
+
+    public static void main(String[] args) {
+        Dictionary dictionary = Dictionary.getDefault();
+        System.out.printf("%6s %14s %14s %14s %12s%n", "length", "legacy", "enumerate", "scan", "subsets");
+        for (int length = 3; length <= 15; length++) {
+            int[] bucket = dictionary.lengthIndex().bucket(length);
+            List<String> samples = new ArrayList<>();
+            for (int i = 0; i < SAMPLES && i < bucket.length; i++) {
+                samples.add(dictionary.word(bucket[(int) ((long) i * bucket.length / SAMPLES)]));
+            }
+            long subsets = 0;
+            for (String word : samples) {
+                subsets += SignatureIndex.enumerationCost(LetterCounts.count(word));
+                int[] enumerated = dictionary.enumerateSubWordIds(LetterCounts.count(word), MIN_LENGTH);
+                int[] scanned = dictionary.scanSubWordIds(LetterCounts.count(word), MIN_LENGTH);
+                if (!Arrays.equals(enumerated, scanned)) {
+                    throw new IllegalStateException("Mismatch for word=[" + word + "]");
+                }
+            }
+            System.out.printf("%6d %11.1f us %11.1f us %11.1f us %12d%n", length,
+                    microsPerWord(samples, word -> legacy(dictionary.words(), word)),
+                    microsPerWord(samples, word -> dictionary.enumerateSubWordIds(LetterCounts.count(word), MIN_LENGTH).length),
+                    microsPerWord(samples, word -> dictionary.scanSubWordIds(LetterCounts.count(word), MIN_LENGTH).length),
+                    subsets / samples.size());
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class WildcardSearchTest {
+
+    static final String[] WORDS = {
+            "able", "ample", "apple", "apples", "axle", "unable", "unbearable", "undo", "unstable", "untenable" };
+
+    @Test
+    void givenPattern_thenMatchingWords() {
+        Dictionary dictionary = Dictionary.of(Arrays.asList(WORDS));
+
+        assertEquals(Arrays.asList("ample", "apple"), dictionary.wordsOf(dictionary.patternIds("a?p?e", 10)), "a?p?e");
+        assertEquals(Arrays.asList("ample", "apple"), dictionary.wordsOf(dictionary.patternIds("A.P.E", 10)), "A.P.E");
+        assertEquals(Arrays.asList("unable", "unbearable", "unstable", "untenable"),
+                dictionary.wordsOf(dictionary.patternIds("un*able", 10)), "un*able");
+        assertEquals(Arrays.asList("unable", "unbearable", "unstable", "untenable"),
+                dictionary.wordsOf(dictionary.patternIds("*?able", 10)), "*?able");
+        assertEquals(Arrays.asList("unbearable"), dictionary.wordsOf(dictionary.patternIds("*b*a**?", 10)), "*b*a**?");
+        assertEquals(Arrays.asList("undo"), dictionary.wordsOf(dictionary.patternIds("undo", 10)), "undo");
+        assertEquals(Arrays.asList("able", "ample"), dictionary.wordsOf(dictionary.patternIds("*", 2)), "limit");
+        assertEquals(0, dictionary.patternIds("un-able", 10).length, "not a-z");
+        assertEquals(0, dictionary.patternIds("b*", 10).length, "none");
+    }
+
+    @Test
+    void givenRandomPatterns_thenSameAsRegexOverEveryWord() {
+        Dictionary dictionary = Dictionary.getDefault();
+        List<String> words = dictionary.words();
+        Dictionary coded = new Dictionary(new FrontCodedWords(words.toArray(new String[0])));
+        Random random = new Random(1);
+        for (int i = 0; i < 300; i++) {
+            StringBuilder pattern = new StringBuilder(words.get(random.nextInt(words.size())));
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                int position = random.nextInt(pattern.length());
+                switch (random.nextInt(3)) {
+                case 0:
+                    pattern.setCharAt(position, '?');
+                    break;
+                case 1:
+                    pattern.replace(position, position + 1 + random.nextInt(pattern.length() - position), "*");
+                    break;
+                default:
+                    pattern.setCharAt(position, (char) ('a' + random.nextInt(26)));
+                }
+            }
+            List<String> expected = matching(words, pattern.toString());
+            assertEquals(expected, dictionary.wordsOf(dictionary.patternIds(pattern, Integer.MAX_VALUE)),
+                    pattern.toString());
+            assertEquals(expected, coded.wordsOf(coded.patternIds(pattern, Integer.MAX_VALUE)), pattern.toString());
+        }
+    }
+
+    static List<String> matching(List<String> words, String pattern) {
+        Pattern regex = Pattern.compile(pattern.replace("?", "[a-z]").replace("*", "[a-z]*"));
+        List<String> matching = new ArrayList<>();
+        for (String word : words) {
+            if (regex.matcher(word).matches()) {
+                matching.add(word);
+            }
+        }
+        return matching;
+    }
+
+}
@@ -0,0 +1,60 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class WordSetTest {
+
+    final WordSet set = new WordSet(new String[] { "a", "ab", "abc", "panda", "zygote" });
+
+    @Test
+    void givenMemberWord_thenExpectItsId() {
+        assertEquals(0, set.indexOf("a"), "word=a");
+        assertEquals(2, set.indexOf("abc"), "word=abc");
+        assertEquals(4, set.indexOf("zygote"), "word=zygote");
+        assertEquals("panda", set.word(3), "id=3");
+        assertEquals(5, set.length(3), "id=3");
+    }
+
+    @Test
+    void givenMixedCaseWord_thenExpectFound() {
+        assertTrue(set.contains("PaNdA"), "word=PaNdA");
+        assertTrue(set.contains("ZYGOTE"), "word=ZYGOTE");
+    }
+
+    @Test
+    void givenNonMemberWord_thenExpectNotFound() {
+        assertEquals(-1, set.indexOf(null), "word=null");
+        assertEquals(-1, set.indexOf(""), "word=<EMPTY>");
+        assertEquals(-1, set.indexOf("abcd"), "word=abcd");
+        assertEquals(-1, set.indexOf("pand"), "word=pand");
+        assertEquals(-1, set.indexOf("pan-da"), "word=pan-da");
+        assertEquals(-1, set.indexOf("\u00e9"), "word=<NON_ASCII>");
+    }
+
+    @Test
+    void givenManyWords_thenExpectAllFound() {
+        String[] words = new String[100_000];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = syntheticWord(i);
+        }
+        WordSet large = new WordSet(words);
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(i, large.indexOf(words[i]), words[i]);
+        }
+        assertFalse(large.contains("aaaaaaaaaa"), "word=aaaaaaaaaa");
+    }
+
+    /*
+     * Bijective base-26: 0 -> "a", 25 -> "z", 26 -> "aa", ...
+     */
+    static String syntheticWord(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (n = n + 1; n > 0; n = (n - 1) / 26) {
+            sb.append((char) ('a' + (n - 1) % 26));
+        }
+        return sb.toString();
+    }
+
+}